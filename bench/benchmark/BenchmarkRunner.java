@@ -0,0 +1,33 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the allocation profiler and writes the results to
+ * a JSON file, which can be compared between runs.
+ */
+public class BenchmarkRunner {
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	/**
+	 * @param args An optional regular expression selecting the benchmarks, e.g.
+	 *             "Boggle" or "LexicographicTreeBenchmark.containsWord"
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(args.length > 0 ? args[0] : ".*Benchmark.*")
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result("jmh-result.json")
+				.build();
+		new Runner(options).run();
+	}
+}
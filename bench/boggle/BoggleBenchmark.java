@@ -0,0 +1,57 @@
+package boggle;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tree.LexicographicTree;
+
+/**
+ * Benchmarks of the resolution of Boggle grids from 4x4 to 150x150. The grids
+ * are drawn with a fixed seed, with letters weighted by their frequency in
+ * French, so that runs can be compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoggleBenchmark {
+	private static final String DICTIONNAIRE = "mots/dictionnaire_FR_sans_accents.txt";
+	private static final String WEIGHTED_LETTERS = "eeeeeeeeeeeeeeeaaaaaaaaiiiiiiisssssssnnnnnnnrrrrrrttttttoooooolllll"
+			+ "uuuuudddcccmmmppgbvhfqyxjkwz";
+
+	@Param({ "4", "10", "50", "100", "150" })
+	public int size;
+
+	private Boggle boggle;
+
+	@Setup
+	public void setUp() {
+		LexicographicTree dict = new LexicographicTree(DICTIONNAIRE);
+		Random random = new Random(42);
+		StringBuilder letters = new StringBuilder(size * size);
+		for (int i = 0; i < size * size; i++) {
+			letters.append(WEIGHTED_LETTERS.charAt(random.nextInt(WEIGHTED_LETTERS.length())));
+		}
+		boggle = new Boggle(size, letters.toString(), dict);
+	}
+
+	@Benchmark
+	public Set<String> solve() {
+		return boggle.solve();
+	}
+}
@@ -0,0 +1,74 @@
+package cryptanalysis;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tree.LexicographicTree;
+import tree.RepetitionPatternIndex;
+
+/**
+ * Benchmark of the dictionary-based analysis of the Sherlock Holmes
+ * cryptogram. The progress report of the analysis is discarded so that
+ * console output is not measured. The repetition pattern index of the
+ * dictionary is built during the setup, as it is shared by every analysis;
+ * its construction is measured on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DictionaryBasedAnalysisBenchmark {
+	private static final String DICTIONARY = "mots/dictionnaire_FR_sans_accents.txt";
+	private static final String CRYPTOGRAM_FILE = "txt/Plus fort que Sherlock Holmes (cryptogram).txt";
+	private static final String START_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+	private LexicographicTree dict;
+	private String cryptogram;
+	private PrintStream standardOutput;
+
+	@Setup
+	public void setUp() throws IOException {
+		dict = new LexicographicTree(DICTIONARY);
+		dict.repetitionPatterns();
+		cryptogram = new String(Files.readAllBytes(Paths.get(CRYPTOGRAM_FILE)), StandardCharsets.UTF_8);
+		standardOutput = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.setOut(standardOutput);
+	}
+
+	@Benchmark
+	public String guessApproximatedAlphabet() {
+		return new DictionaryBasedAnalysis(cryptogram, dict).guessApproximatedAlphabet(START_ALPHABET);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 3)
+	@Measurement(iterations = 10)
+	public RepetitionPatternIndex buildPatternIndex() {
+		return new RepetitionPatternIndex(dict);
+	}
+}
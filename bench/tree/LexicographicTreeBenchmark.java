@@ -0,0 +1,139 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the lexicographic tree on the French dictionary: loading,
+ * lookups of present and absent words, prefix enumeration and length queries.
+ * Lookups are measured per batch of 10000 words drawn at random with a fixed
+ * seed, so that runs can be compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexicographicTreeBenchmark {
+	private static final String DICTIONNAIRE = "mots/dictionnaire_FR_sans_accents.txt";
+	private static final int LOOKUP_COUNT = 10000;
+
+	@State(Scope.Benchmark)
+	public static class PrefixQuery {
+		@Param({ "a", "con", "re", "tri" })
+		public String prefix;
+	}
+
+	@State(Scope.Benchmark)
+	public static class LengthQuery {
+		@Param({ "3", "8", "15" })
+		public int length;
+	}
+
+	private LexicographicTree dict;
+	private List<String> presentWords;
+	private List<String> absentWords;
+
+	@Setup
+	public void setUp() {
+		dict = new LexicographicTree(DICTIONNAIRE);
+		Random random = new Random(42);
+		presentWords = new ArrayList<>(LOOKUP_COUNT);
+		absentWords = new ArrayList<>(LOOKUP_COUNT);
+		for (int i = 0; i < LOOKUP_COUNT; i++) {
+			String word = dict.randomWord(random);
+			presentWords.add(word);
+			absentWords.add(word + "xx");
+		}
+		Collections.shuffle(absentWords, random);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 3)
+	@Measurement(iterations = 10)
+	public LexicographicTree load() {
+		return new LexicographicTree(DICTIONNAIRE);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 3)
+	@Measurement(iterations = 10)
+	public LexicographicTree bulkLoad() {
+		return LexicographicTree.bulkLoad(DICTIONNAIRE);
+	}
+
+	@Benchmark
+	public void containsWordHit(Blackhole blackhole) {
+		for (String word : presentWords) {
+			blackhole.consume(dict.containsWord(word));
+		}
+	}
+
+	@Benchmark
+	public void containsWordMiss(Blackhole blackhole) {
+		for (String word : absentWords) {
+			blackhole.consume(dict.containsWord(word));
+		}
+	}
+
+	@Benchmark
+	public void containsPrefix(Blackhole blackhole) {
+		for (String word : presentWords) {
+			blackhole.consume(dict.containsPrefix(word));
+		}
+	}
+
+	@Benchmark
+	public List<String> getWords(PrefixQuery query) {
+		return dict.getWords(query.prefix);
+	}
+
+	@Benchmark
+	public long streamWords(PrefixQuery query) {
+		return dict.streamWords(query.prefix).count();
+	}
+
+	/**
+	 * Empties the cache of the tree first, so that each call walks the tree.
+	 */
+	@Benchmark
+	public List<String> getWordsOfLength(LengthQuery query) {
+		dict.clearCache();
+		return dict.getWordsOfLength(query.length);
+	}
+
+	/**
+	 * Served from the cache of the tree after the first call, which returns the
+	 * cached list itself.
+	 */
+	@Benchmark
+	public List<String> getWordsOfLengthCached(LengthQuery query) {
+		return dict.getWordsOfLength(query.length);
+	}
+
+	@Benchmark
+	public long streamWordsOfLength(LengthQuery query) {
+		return dict.streamWordsOfLength(query.length).count();
+	}
+}
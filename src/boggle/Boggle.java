@@ -33,7 +33,7 @@ public class Boggle {
 	 * Constructor : creates a Boggle grid filled with random letters.
 	 * 
 	 * @param size The size of the squared grid
-	 * @param dict A dictionary of allowed words
+	 * @param dict A dictionary of allowed words, walked one letter at a time
 	 */
 	public Boggle(int size, LexicographicTree dict) {
 		this(size, randomLetters(size), dict);
@@ -45,7 +45,9 @@ public class Boggle {
 	 * @param size    The size of the squared grid
 	 * @param letters A string containing the (size x size) letters used to fill the
 	 *                grid
-	 * @param dict    A dictionary of allowed words
+	 * @param dict    A dictionary of allowed words, walked one letter at a time
+	 *                while the grid is searched, hence a tree rather than any
+	 *                {@link tree.Lexicon}
 	 */
 	public Boggle(int size, String letters, LexicographicTree dict) {
 		if (size < 1) {
@@ -109,7 +111,7 @@ public class Boggle {
 	public Set<String> solve() {
 		Set<String> words = new HashSet<>();
 		for (Dice dice : graph.vertexSet()) {
-			solveRecursive(dice, new StringBuilder(), words);
+			solveRecursive(dice, dict.root(), new StringBuilder(), words);
 		}
 		return words;
 	}
@@ -201,18 +203,21 @@ public class Boggle {
 		return false;
 	}
 
-	private void solveRecursive(Dice dice, StringBuilder currentWord, Set<String> words) {
+	private void solveRecursive(Dice dice, LexicographicTree.Node prefix, StringBuilder currentWord, Set<String> words) {
+		LexicographicTree.Node node = dict.step(prefix, dice.letter);
+		if (node == null) {
+			return;
+		}
 		dice.isVisited = true;
 		currentWord.append(dice.letter);
 
-		if (dict.containsPrefix(currentWord.toString())) {
-			if (currentWord.length() >= 3 && dict.containsWord(currentWord.toString())) {
-				words.add(currentWord.toString());
-			}
-
+		if (currentWord.length() >= 3 && dict.isWord(node)) {
+			words.add(currentWord.toString());
+		}
+		if (dict.hasChildren(node)) {
 			for (Dice neighbor : Graphs.neighborListOf(graph, dice)) {
 				if (!neighbor.isVisited) {
-					solveRecursive(neighbor, currentWord, words);
+					solveRecursive(neighbor, node, currentWord, words);
 				}
 			}
 		}
@@ -18,6 +18,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import tree.LexicographicTree;
+import tree.RepetitionPatternIndex;
 
 public class DictionaryBasedAnalysis {
 
@@ -28,7 +29,11 @@ public class DictionaryBasedAnalysis {
 	private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
 
 	private String[] words;
-	private final LexicographicTree dict;
+	private final LexicographicTree dict; // walked node by node, see getScore
+	private final char[] substitutionBuffer;
+	private final String[] sortedWords;
+	private final int[] sharedPrefixLengths;
+	private final LexicographicTree.Node[] prefixPath;
 
 	/*
 	 * CONSTRUCTOR
@@ -41,6 +46,24 @@ public class DictionaryBasedAnalysis {
 				.distinct()
 				.collect(Collectors.toCollection(LinkedHashSet::new))
 				.toArray(new String[0]);
+		this.substitutionBuffer = new char[words.length > 0 ? words[0].length() : 0];
+		// The prefixes shared by the cipher words depend only on the sorted
+		// cipher words, not on the alphabet, so they are computed once here and
+		// getScore walks each shared prefix only once
+		this.sortedWords = words.clone();
+		Arrays.sort(sortedWords);
+		this.sharedPrefixLengths = new int[sortedWords.length];
+		for (int i = 1; i < sortedWords.length; i++) {
+			String previous = sortedWords[i - 1];
+			String word = sortedWords[i];
+			int common = 0;
+			while (common < Math.min(previous.length(), word.length())
+					&& previous.charAt(common) == word.charAt(common)) {
+				common++;
+			}
+			sharedPrefixLengths[i] = common;
+		}
+		this.prefixPath = new LexicographicTree.Node[substitutionBuffer.length + 1];
 	}
 
 	/*
@@ -69,7 +92,7 @@ public class DictionaryBasedAnalysis {
 		int nbWordsFound = getScore(alphabet);
 		List<String> wordsWithRepetition = getWordsWithRepetition(alphabet);
 		List<String> wordAlreadyChecked = new ArrayList<>();
-		List<String> currentWordsOfLength = new ArrayList<>();
+		RepetitionPatternIndex patterns = dict.repetitionPatterns();
 		System.out.printf("+------------------------------------------------------------------------+\n");
 		System.out.printf("| %-70s |\n", "Starting dictionary-based analysis...");
 		System.out.printf("+------------------------------------------------------------------------+\n");
@@ -78,14 +101,16 @@ public class DictionaryBasedAnalysis {
 		for (String word : wordsWithRepetition) {
 			if (currentLength > word.length() || currentLength == 0) {
 				currentLength = word.length();
-				currentWordsOfLength = dict.getWordsOfLength(currentLength);
 				System.out.printf("+------------------------------------------------------------------------+\n");
 				System.out.printf("| %-70s |\n", ">> Current length: " + currentLength);
 			}
-			if (dict.containsWord(applySubstitution(word, alphabet).toLowerCase())) {
+			if (isDecodedWord(word, alphabet)) {
 				continue;
 			}
-			String compatibleWord = getCompatibleWord(word, currentWordsOfLength);
+			String compatibleWord = patterns.getFirstCompatibleWord(word);
+			if (compatibleWord != null) {
+				compatibleWord = compatibleWord.toUpperCase();
+			}
 			if (compatibleWord != null && !wordAlreadyChecked.contains(compatibleWord)) {
 				wordAlreadyChecked.add(compatibleWord);
 				String newAlphabet = updateAlphabet(applySubstitution(word, alphabet), compatibleWord, alphabet);
@@ -103,7 +128,15 @@ public class DictionaryBasedAnalysis {
 		return alphabet.toUpperCase();
 	}
 
-	public static String getCompatibleWord(String motChiffre, List<String> mots) {
+	/**
+	 * Returns the first word of a list compatible with a cipher word, by a
+	 * linear scan: the reference for {@link RepetitionPatternIndex}.
+	 * 
+	 * @param motChiffre A cipher word
+	 * @param mots       Candidate words
+	 * @return The first compatible word, in uppercase, or null if there is none
+	 */
+	static String getCompatibleWord(String motChiffre, List<String> mots) {
 		for (String mot : mots) {
 			if (mot.length() == motChiffre.length()) {
 				boolean compatible = true;
@@ -264,15 +297,46 @@ public class DictionaryBasedAnalysis {
 	}
 
 	private int getScore(String alphabet) {
+		if (hasRepetition(alphabet)) {
+			throw new IllegalArgumentException("The alphabet must not contain any letter more than once");
+		}
 		int nbWordsFound = 0;
-		for (String word : words) {
-			if (dict.containsWord(applySubstitution(word, alphabet).toLowerCase())) {
+		prefixPath[0] = dict.root();
+		int depth = 0; // prefixPath[0..depth] are the nodes of the previous decoded word
+		for (int i = 0; i < sortedWords.length; i++) {
+			String word = sortedWords[i];
+			depth = Math.min(depth, sharedPrefixLengths[i]);
+			while (depth < word.length()) {
+				char c = Character.toLowerCase(alphabet.charAt(word.charAt(depth) - 'A'));
+				LexicographicTree.Node next = dict.step(prefixPath[depth], c);
+				if (next == null) {
+					break;
+				}
+				prefixPath[++depth] = next;
+			}
+			if (depth == word.length() && dict.isWord(prefixPath[depth])) {
 				nbWordsFound++;
 			}
 		}
 
 		return nbWordsFound;
 	}
+
+	/**
+	 * Determines if a cipher word decodes to a dictionary word. The decoded
+	 * word is written in a reused buffer, so no string is built.
+	 * 
+	 * @param word     An uppercase cipher word
+	 * @param alphabet A decoding alphabet
+	 * @return True if the decoded word is in the dictionary
+	 */
+	private boolean isDecodedWord(String word, String alphabet) {
+		for (int i = 0; i < word.length(); i++) {
+			substitutionBuffer[i] = Character.toLowerCase(alphabet.charAt(word.charAt(i) - 'A'));
+		}
+		return dict.containsWord(substitutionBuffer, 0, word.length());
+	}
+
 	private String randomAlphabet() {
 		List<Character> alphabet = new ArrayList<>();
 		for (int i = 0; i < LETTERS.length(); i++) {
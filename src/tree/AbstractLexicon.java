@@ -0,0 +1,101 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Skeleton of the {@link Lexicon} implementations.
+ *
+ * The public lookups check their arguments here, then call the methods below,
+ * which only have to walk the representation of the words: a null or empty
+ * word is never looked up, and a slice of a char array is always within
+ * bounds.
+ */
+abstract class AbstractLexicon implements Lexicon {
+	// Results of match
+	static final int ABSENT = 0;
+	static final int PREFIX = 1; // prefix of a word, but not a word itself
+	static final int WORD = 2;
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	public boolean containsWord(CharSequence word) {
+		if (word == null || word.length() == 0) {
+			return false;
+		}
+		return match(word) == WORD;
+	}
+
+	public boolean containsWord(char[] word, int offset, int length) {
+		if (word == null || length <= 0) {
+			return false;
+		}
+		Objects.checkFromIndexSize(offset, length, word.length);
+		return match(word, offset, length) == WORD;
+	}
+
+	public boolean containsPrefix(CharSequence prefix) {
+		if (prefix == null || prefix.length() == 0) {
+			return false;
+		}
+		return match(prefix) != ABSENT;
+	}
+
+	public boolean containsPrefix(char[] prefix, int offset, int length) {
+		if (prefix == null || length <= 0) {
+			return false;
+		}
+		Objects.checkFromIndexSize(offset, length, prefix.length);
+		return match(prefix, offset, length) != ABSENT;
+	}
+
+	public List<String> getWords(String prefix) {
+		List<String> words = new ArrayList<>();
+		collectWords(prefix == null || prefix.trim().isEmpty() ? "" : prefix, -1, words);
+		return words;
+	}
+
+	public List<String> getWordsOfLength(int length) {
+		List<String> words = new ArrayList<>();
+		if (length > 0) {
+			collectWords("", length, words);
+		}
+		return words;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * Walks the characters of a non-empty prefix from the root.
+	 *
+	 * @param prefix A prefix
+	 * @return WORD if the prefix is a word, PREFIX if it only starts a word,
+	 *         ABSENT otherwise
+	 */
+	abstract int match(CharSequence prefix);
+
+	/**
+	 * Walks the characters of a non-empty slice of a char array from the root.
+	 *
+	 * @param prefix A buffer containing the prefix
+	 * @param offset Index of the first character of the prefix
+	 * @param length Length of the prefix, the slice being within bounds
+	 * @return WORD if the prefix is a word, PREFIX if it only starts a word,
+	 *         ABSENT otherwise
+	 */
+	abstract int match(char[] prefix, int offset, int length);
+
+	/**
+	 * Adds to a list, in alphabetical order, the words starting with a prefix.
+	 *
+	 * @param prefix Expected prefix, empty for all words
+	 * @param length Expected word length, or -1 for any length
+	 * @param words  The list to fill
+	 */
+	abstract void collectWords(String prefix, int length, List<String> words);
+}
@@ -0,0 +1,140 @@
+package tree;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import tree.LexicographicTree.Node;
+
+/**
+ * Lazily enumerates, in alphabetical order, the words of a
+ * {@link LexicographicTree} that can be formed with a multiset of letters.
+ *
+ * The tree is walked depth first while the number of letters left is kept
+ * for each of 'a' to 'z': a child is skipped as soon as its letter is
+ * exhausted, and also when no word of an allowed length ends below it, using
+ * the length masks of the nodes. Blanks stand for any letter; a letter of the
+ * multiset is always used before a blank, which never loses a word.
+ *
+ * The tree must not be modified while the words are enumerated.
+ */
+final class AnagramSpliterator implements Spliterator<String> {
+	static final char BLANK = '?';
+	private static final int CHARACTERISTICS = ORDERED | SORTED | DISTINCT | NONNULL;
+
+	private final int minLength;
+	private final int[] counts = new int['z' - 'a' + 1];
+	private int blanks;
+	private int remaining; // letters and blanks left
+
+	// Depth-first traversal
+	private final Node[] next; // next child to try at each depth
+	private final boolean[] usedBlank;
+	private final char[] word;
+	private int depth;
+
+	/**
+	 * @param root      Root of the tree
+	 * @param letters   The letters, in any case, and blanks; whitespace is
+	 *                  ignored
+	 * @param minLength Minimum length of the words
+	 * @throws IllegalArgumentException If 'letters' holds another character
+	 */
+	AnagramSpliterator(Node root, CharSequence letters, int minLength) {
+		for (int i = 0; i < letters.length(); i++) {
+			char c = Character.toLowerCase(letters.charAt(i));
+			if (c >= 'a' && c <= 'z') {
+				counts[c - 'a']++;
+			} else if (c == BLANK) {
+				blanks++;
+			} else if (!Character.isWhitespace(c)) {
+				throw new IllegalArgumentException("Not a letter: '" + letters.charAt(i) + "'");
+			}
+		}
+		for (int count : counts) {
+			remaining += count;
+		}
+		remaining += blanks;
+		this.minLength = Math.max(1, minLength);
+		this.next = new Node[remaining + 1];
+		this.usedBlank = new boolean[remaining];
+		this.word = new char[remaining];
+		next[0] = root.child;
+	}
+
+	public boolean tryAdvance(Consumer<? super String> action) {
+		while (true) {
+			Node node = next[depth];
+			if (node == null) {
+				if (depth == 0) {
+					return false;
+				}
+				depth--;
+				giveBack(depth);
+				continue;
+			}
+			next[depth] = node.sibling;
+			int lengths = LexicographicTree.lengthRange(Math.max(0, minLength - depth - 1), remaining - 1);
+			if ((node.lengthMask & lengths) == 0 || !take(node.value, depth)) {
+				continue;
+			}
+			word[depth++] = node.value;
+			next[depth] = node.child;
+			if (node.isEndOfWord && depth >= minLength) {
+				action.accept(new String(word, 0, depth));
+				return true;
+			}
+		}
+	}
+
+	public Spliterator<String> trySplit() {
+		return null;
+	}
+
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+
+	public int characteristics() {
+		return CHARACTERISTICS;
+	}
+
+	public Comparator<? super String> getComparator() {
+		return null; // natural order of strings, which is the order of the tree
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * Uses a letter of the multiset, or a blank, for the character at a given
+	 * depth.
+	 */
+	private boolean take(char c, int depth) {
+		int i = c - 'a';
+		if (i < 0 || i >= counts.length) {
+			return false;
+		}
+		if (counts[i] > 0) {
+			counts[i]--;
+			usedBlank[depth] = false;
+		} else if (blanks > 0) {
+			blanks--;
+			usedBlank[depth] = true;
+		} else {
+			return false;
+		}
+		remaining--;
+		return true;
+	}
+
+	private void giveBack(int depth) {
+		if (usedBlank[depth]) {
+			blanks++;
+		} else {
+			counts[word[depth] - 'a']++;
+		}
+		remaining++;
+	}
+}
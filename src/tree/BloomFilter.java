@@ -0,0 +1,213 @@
+package tree;
+
+/**
+ * Bloom filter over character sequences.
+ *
+ * A word is added by setting k bits of a bit array; a word whose k bits are
+ * not all set was never added. The k positions are derived from a single
+ * 64-bit hash by double hashing (h1 + i * h2). For n words and a target
+ * false-positive rate p, the array has -n ln(p) / ln(2)^2 bits and k is
+ * ln(1/p) / ln(2), rounded.
+ */
+public class BloomFilter {
+	/**
+	 * Lookup counters of a filter placed in front of a dictionary.
+	 */
+	public static class Statistics {
+		private final long rejected;
+		private final long passed;
+		private final long falsePositives;
+
+		Statistics(long rejected, long passed, long falsePositives) {
+			this.rejected = rejected;
+			this.passed = passed;
+			this.falsePositives = falsePositives;
+		}
+
+		/**
+		 * @return The number of lookups answered by the filter alone
+		 */
+		public long rejected() {
+			return rejected;
+		}
+
+		/**
+		 * @return The number of lookups that went through the filter
+		 */
+		public long passed() {
+			return passed;
+		}
+
+		/**
+		 * @return The number of lookups that went through the filter for a word
+		 *         that was not present
+		 */
+		public long falsePositives() {
+			return falsePositives;
+		}
+
+		/**
+		 * @return The proportion of absent words that went through the filter
+		 */
+		public double falsePositiveRate() {
+			long misses = rejected + falsePositives;
+			return misses == 0 ? 0 : (double) falsePositives / misses;
+		}
+
+		public String toString() {
+			return String.format("rejected = %d / passed = %d / false positives = %d (%.4f)", rejected, passed,
+					falsePositives, falsePositiveRate());
+		}
+	}
+
+	private static final long SEED = 0xcbf29ce484222325L;
+	private static final long PRIME = 0x100000001b3L;
+
+	private final long[] bits;
+	private final int bitCount;
+	private final int hashCount;
+	private final int capacity;
+	private final double falsePositiveRate;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : creates an empty filter.
+	 *
+	 * @param capacity          Expected number of words
+	 * @param falsePositiveRate Target false-positive rate once 'capacity' words
+	 *                          are added, between 0 and 1 exclusive
+	 * @throws IllegalArgumentException If a parameter is out of range
+	 */
+	public BloomFilter(int capacity, double falsePositiveRate) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Negative capacity: " + capacity);
+		}
+		if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+			throw new IllegalArgumentException("False-positive rate out of ]0, 1[: " + falsePositiveRate);
+		}
+		double ln2 = Math.log(2);
+		long size = (long) Math.ceil(-Math.max(capacity, 1) * Math.log(falsePositiveRate) / (ln2 * ln2));
+		this.bitCount = (int) Math.min(Math.max(size, 64), Integer.MAX_VALUE - 63);
+		this.bits = new long[(bitCount + 63) / 64];
+		this.hashCount = Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / ln2));
+		this.capacity = capacity;
+		this.falsePositiveRate = falsePositiveRate;
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * @return The number of words the filter was sized for
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return The target false-positive rate
+	 */
+	public double falsePositiveRate() {
+		return falsePositiveRate;
+	}
+
+	/**
+	 * @return The size of the bit array
+	 */
+	public int bitCount() {
+		return bitCount;
+	}
+
+	/**
+	 * @return The number of bits set per word
+	 */
+	public int hashCount() {
+		return hashCount;
+	}
+
+	/**
+	 * Adds a word to the filter.
+	 *
+	 * @param word A word
+	 */
+	public void add(CharSequence word) {
+		long hash = hash(word);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < hashCount; i++) {
+			int bit = index(h1 + i * h2);
+			bits[bit >>> 6] |= 1L << bit;
+		}
+	}
+
+	/**
+	 * Determines if a word may have been added to the filter.
+	 *
+	 * @param word A word
+	 * @return False if the word was never added, true if it probably was
+	 */
+	public boolean mightContain(CharSequence word) {
+		return mightContain(hash(word));
+	}
+
+	/**
+	 * Determines if a word may have been added to the filter.
+	 *
+	 * @param word   An array holding the word
+	 * @param offset Index of the first character of the word
+	 * @param length Length of the word
+	 * @return False if the word was never added, true if it probably was
+	 */
+	public boolean mightContain(char[] word, int offset, int length) {
+		long hash = SEED;
+		for (int i = offset; i < offset + length; i++) {
+			hash = (hash ^ word[i]) * PRIME;
+		}
+		return mightContain(mix(hash));
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private boolean mightContain(long hash) {
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < hashCount; i++) {
+			int bit = index(h1 + i * h2);
+			if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int index(int hash) {
+		return (int) (((hash & 0xffffffffL) * bitCount) >>> 32);
+	}
+
+	/**
+	 * FNV-1a over the characters, followed by a finalizer spreading the bits
+	 * over both halves of the hash.
+	 */
+	private static long hash(CharSequence word) {
+		long hash = SEED;
+		for (int i = 0; i < word.length(); i++) {
+			hash = (hash ^ word.charAt(i)) * PRIME;
+		}
+		return mix(hash);
+	}
+
+	private static long mix(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
@@ -0,0 +1,167 @@
+package tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only, array-backed form of a {@link LexicographicTree}.
+ *
+ * Nodes are numbered in breadth-first order (the root is node 0) and stored in
+ * parallel primitive arrays, so the children of a node occupy consecutive
+ * indices. A node costs about 10 bytes instead of a full {@code Node} object.
+ */
+public class CompiledLexicographicTree extends AbstractLexicon {
+	static final int NONE = -1;
+
+	final char[] labels;
+	final int[] firstChild;
+	final int[] sibling;
+	final long[] endOfWord;
+	private final int wordCount;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	CompiledLexicographicTree(char[] labels, int[] firstChild, int[] sibling, long[] endOfWord, int wordCount) {
+		this.labels = labels;
+		this.firstChild = firstChild;
+		this.sibling = sibling;
+		this.endOfWord = endOfWord;
+		this.wordCount = wordCount;
+	}
+
+	/**
+	 * Compiles the nodes reachable from a root node.
+	 *
+	 * @param root The root of a lexicographic tree
+	 * @return The compiled tree
+	 */
+	static CompiledLexicographicTree compile(LexicographicTree.Node root) {
+		List<LexicographicTree.Node> nodes = new ArrayList<>();
+		ArrayDeque<LexicographicTree.Node> queue = new ArrayDeque<>();
+		nodes.add(root);
+		queue.add(root);
+		while (!queue.isEmpty()) {
+			LexicographicTree.Node node = queue.poll();
+			for (LexicographicTree.Node child = node.child; child != null; child = child.sibling) {
+				nodes.add(child);
+				queue.add(child);
+			}
+		}
+
+		int count = nodes.size();
+		char[] labels = new char[count];
+		int[] firstChild = new int[count];
+		int[] sibling = new int[count];
+		long[] endOfWord = new long[(count + 63) >>> 6];
+		Arrays.fill(sibling, NONE);
+		int wordCount = 0;
+		int next = 1;
+		for (int i = 0; i < count; i++) {
+			LexicographicTree.Node node = nodes.get(i);
+			labels[i] = node.value;
+			if (node.isEndOfWord) {
+				endOfWord[i >>> 6] |= 1L << i;
+				wordCount++;
+			}
+			firstChild[i] = node.child != null ? next : NONE;
+			for (LexicographicTree.Node child = node.child; child != null; child = child.sibling) {
+				if (child.sibling != null) {
+					sibling[next] = next + 1;
+				}
+				next++;
+			}
+		}
+		return new CompiledLexicographicTree(labels, firstChild, sibling, endOfWord, wordCount);
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Returns the number of nodes of the compiled tree, root included.
+	 *
+	 * @return The number of nodes
+	 */
+	public int nodeCount() {
+		return labels.length;
+	}
+
+	public int size() {
+		return wordCount;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	boolean isEndOfWord(int node) {
+		return (endOfWord[node >>> 6] & (1L << node)) != 0;
+	}
+
+	int findChild(int node, char c) {
+		for (int child = firstChild[node]; child != NONE; child = sibling[child]) {
+			if (labels[child] == c) {
+				return child;
+			} else if (labels[child] > c) {
+				break;
+			}
+		}
+		return NONE;
+	}
+
+	int match(CharSequence prefix) {
+		int node = findNode(prefix);
+		return node == NONE ? ABSENT : isEndOfWord(node) ? WORD : PREFIX;
+	}
+
+	int match(char[] prefix, int offset, int length) {
+		int node = findNode(prefix, offset, length);
+		return node == NONE ? ABSENT : isEndOfWord(node) ? WORD : PREFIX;
+	}
+
+	void collectWords(String prefix, int length, List<String> words) {
+		int node = findNode(prefix);
+		if (node != NONE) {
+			getWordsRecursive(node, new StringBuilder(prefix), length, words);
+		}
+	}
+
+	private int findNode(CharSequence prefix) {
+		int node = 0;
+		for (int i = 0; i < prefix.length() && node != NONE; i++) {
+			node = findChild(node, prefix.charAt(i));
+		}
+		return node;
+	}
+
+	private int findNode(char[] prefix, int offset, int length) {
+		int node = 0;
+		for (int i = offset; i < offset + length && node != NONE; i++) {
+			node = findChild(node, prefix[i]);
+		}
+		return node;
+	}
+
+	/**
+	 * Lists the words below a node, or only those ending 'length' characters
+	 * below the root if 'length' is not negative.
+	 */
+	private void getWordsRecursive(int node, StringBuilder prefix, int length, List<String> words) {
+		if (isEndOfWord(node) && (length < 0 || prefix.length() == length)) {
+			words.add(prefix.toString());
+		}
+		if (length >= 0 && prefix.length() >= length) {
+			return;
+		}
+		for (int child = firstChild[node]; child != NONE; child = sibling[child]) {
+			prefix.append(labels[child]);
+			getWordsRecursive(child, prefix, length, words);
+			prefix.setLength(prefix.length() - 1);
+		}
+	}
+}
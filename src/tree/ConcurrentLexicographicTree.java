@@ -0,0 +1,165 @@
+package tree;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe lexicographic tree: any number of threads may insert words while
+ * others look them up.
+ *
+ * Sibling lists are sorted lock-free linked lists. A new node is fully built
+ * before being published by a compare-and-set on the link that precedes it,
+ * and a failed compare-and-set means another thread changed that link, so the
+ * insertion point is searched again. Words are never removed, so a reader
+ * never blocks and never observes a half-linked node. An insertion takes
+ * effect when the end-of-word flag of its last node is set: from then on every
+ * lookup of the word succeeds. Words inserted while a list of words is built
+ * may or may not be part of it.
+ */
+public class ConcurrentLexicographicTree extends AbstractLexicon {
+	static final class Node {
+		final char value;
+		volatile Node child;
+		volatile Node sibling;
+		volatile boolean isEndOfWord;
+
+		Node(char value) {
+			this.value = value;
+		}
+	}
+
+	private static final VarHandle CHILD;
+	private static final VarHandle SIBLING;
+	private static final VarHandle END_OF_WORD;
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			CHILD = lookup.findVarHandle(Node.class, "child", Node.class);
+			SIBLING = lookup.findVarHandle(Node.class, "sibling", Node.class);
+			END_OF_WORD = lookup.findVarHandle(Node.class, "isEndOfWord", boolean.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final Node root = new Node('\0');
+	private final AtomicInteger wordCount = new AtomicInteger();
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	public int size() {
+		return wordCount.get();
+	}
+
+	/**
+	 * Inserts a word in the tree if not already present. Safe to call from any
+	 * thread.
+	 *
+	 * @param word A word
+	 * @return True if this call added the word, false if it was already present
+	 *         or invalid
+	 */
+	public boolean insertWord(String word) {
+		if (word == null || word.trim().isEmpty()) {
+			return false;
+		}
+		Node node = root;
+		for (int i = 0; i < word.length(); i++) {
+			node = getOrCreateChild(node, word.charAt(i));
+		}
+		if (END_OF_WORD.compareAndSet(node, false, true)) {
+			wordCount.incrementAndGet();
+			return true;
+		}
+		return false;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static Node getOrCreateChild(Node node, char c) {
+		while (true) {
+			Node previousChild = null;
+			Node child = node.child;
+			while (child != null && child.value < c) {
+				previousChild = child;
+				child = child.sibling;
+			}
+			if (child != null && child.value == c) {
+				return child;
+			}
+
+			Node newNode = new Node(c);
+			newNode.sibling = child;
+			boolean linked = previousChild == null
+					? CHILD.compareAndSet(node, child, newNode)
+					: SIBLING.compareAndSet(previousChild, child, newNode);
+			if (linked) {
+				return newNode;
+			}
+		}
+	}
+
+	private static Node findChild(Node node, char c) {
+		for (Node child = node.child; child != null; child = child.sibling) {
+			if (child.value == c) {
+				return child;
+			} else if (child.value > c) {
+				break;
+			}
+		}
+		return null;
+	}
+
+	int match(CharSequence prefix) {
+		Node node = findNode(prefix);
+		return node == null ? ABSENT : node.isEndOfWord ? WORD : PREFIX;
+	}
+
+	int match(char[] prefix, int offset, int length) {
+		Node node = findNode(prefix, offset, length);
+		return node == null ? ABSENT : node.isEndOfWord ? WORD : PREFIX;
+	}
+
+	void collectWords(String prefix, int length, List<String> words) {
+		Node node = findNode(prefix);
+		if (node != null) {
+			getWordsRecursive(node, new StringBuilder(prefix), length, words);
+		}
+	}
+
+	private Node findNode(CharSequence prefix) {
+		Node node = root;
+		for (int i = 0; i < prefix.length() && node != null; i++) {
+			node = findChild(node, prefix.charAt(i));
+		}
+		return node;
+	}
+
+	private Node findNode(char[] prefix, int offset, int length) {
+		Node node = root;
+		for (int i = offset; i < offset + length && node != null; i++) {
+			node = findChild(node, prefix[i]);
+		}
+		return node;
+	}
+
+	private void getWordsRecursive(Node node, StringBuilder prefix, int length, List<String> words) {
+		if (node.isEndOfWord && (length < 0 || prefix.length() == length)) {
+			words.add(prefix.toString());
+		}
+		if (length >= 0 && prefix.length() >= length) {
+			return;
+		}
+		for (Node child = node.child; child != null; child = child.sibling) {
+			prefix.append(child.value);
+			getWordsRecursive(child, prefix, length, words);
+			prefix.setLength(prefix.length() - 1);
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package tree;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Publishes the current version of a {@link PersistentLexicographicTree} to
+ * concurrent readers, and lets a writer replace it atomically.
+ *
+ * A reader pins a version with {@link #pin()} and uses it for as long as it
+ * needs a consistent view, e.g. for one request: the version cannot change
+ * under it, whatever the writers do. Nothing is released explicitly: the
+ * handle only refers to the current version, so an older version is
+ * collected, with the nodes no newer version shares, once no reader holds it.
+ */
+public class DictionaryHandle {
+	private final AtomicReference<PersistentLexicographicTree> current;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : creates a handle on an empty dictionary.
+	 */
+	public DictionaryHandle() {
+		this(new PersistentLexicographicTree());
+	}
+
+	/**
+	 * Constructor : creates a handle on a dictionary.
+	 *
+	 * @param dictionary The initial version
+	 * @throws IllegalArgumentException If 'dictionary' is null
+	 */
+	public DictionaryHandle(PersistentLexicographicTree dictionary) {
+		if (dictionary == null) {
+			throw new IllegalArgumentException("No dictionary");
+		}
+		this.current = new AtomicReference<>(dictionary);
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Returns the current version. The caller may keep it as long as needed; it
+	 * never changes.
+	 *
+	 * @return The current version
+	 */
+	public PersistentLexicographicTree pin() {
+		return current.get();
+	}
+
+	/**
+	 * Replaces the current version.
+	 *
+	 * @param dictionary The new version
+	 * @return The version replaced
+	 * @throws IllegalArgumentException If 'dictionary' is null
+	 */
+	public PersistentLexicographicTree swap(PersistentLexicographicTree dictionary) {
+		if (dictionary == null) {
+			throw new IllegalArgumentException("No dictionary");
+		}
+		return current.getAndSet(dictionary);
+	}
+
+	/**
+	 * Applies a change to the current version and publishes the result. If
+	 * another writer publishes a version in the meantime, the change is applied
+	 * again to that version, so concurrent updates are never lost; the change
+	 * must therefore have no other effect than returning the new version.
+	 *
+	 * @param change Derives the new version from the current one, e.g.
+	 *               {@code tree -> tree.withWord("mot")}
+	 * @return The version published
+	 */
+	public PersistentLexicographicTree update(UnaryOperator<PersistentLexicographicTree> change) {
+		while (true) {
+			PersistentLexicographicTree previous = current.get();
+			PersistentLexicographicTree next = change.apply(previous);
+			if (next == previous || current.compareAndSet(previous, next)) {
+				return next;
+			}
+		}
+	}
+
+	/**
+	 * Replaces the words of the dictionary by the words of a file, sharing the
+	 * unchanged subtrees with the current version. The current version is kept
+	 * if the file cannot be read.
+	 *
+	 * @param filename A text file containing the words of the new version
+	 * @return The version published
+	 */
+	public PersistentLexicographicTree reload(String filename) {
+		List<String> words = PersistentLexicographicTree.readWords(filename);
+		if (words == null) {
+			return pin();
+		}
+		return update(tree -> tree.replaceAll(words));
+	}
+
+	/*
+	 * TEST FUNCTIONS
+	 */
+
+	private static void testHotSwap(String filename) throws InterruptedException {
+		DictionaryHandle handle = new DictionaryHandle(new PersistentLexicographicTree(filename));
+		List<String> words = handle.pin().getWords("");
+		System.out.println("Version " + handle.pin().version() + " : " + handle.pin().size() + " words");
+
+		// Look up words in the current version while a writer removes and adds
+		// words
+		Thread[] readers = new Thread[2];
+		long[] lookups = new long[readers.length];
+		for (int t = 0; t < readers.length; t++) {
+			int index = t;
+			readers[t] = new Thread(() -> {
+				while (!Thread.currentThread().isInterrupted()) {
+					PersistentLexicographicTree pinned = handle.pin();
+					for (int i = 0; i < 1000; i++) {
+						pinned.containsWord(words.get((int) ((lookups[index] + i) * 7919 % words.size())));
+					}
+					lookups[index] += 1000;
+				}
+			});
+			readers[t].start();
+		}
+		long startTime = System.currentTimeMillis();
+		for (int i = 0; i < 20000; i++) {
+			String word = words.get(i * 13 % words.size());
+			handle.update(tree -> tree.withoutWord(word));
+			handle.update(tree -> tree.withWord(word));
+		}
+		System.out.println("40000 updates : " + (System.currentTimeMillis() - startTime) / 1000.0 + " s");
+		for (Thread reader : readers) {
+			reader.interrupt();
+			reader.join();
+		}
+		System.out.println("Lookups during the updates : " + (lookups[0] + lookups[1]));
+
+		startTime = System.currentTimeMillis();
+		handle.reload(filename);
+		System.out.println("Reload of the same words : " + (System.currentTimeMillis() - startTime) / 1000.0
+				+ " s, version " + handle.pin().version());
+		System.out.println();
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	public static void main(String[] args) throws InterruptedException {
+		// Mises à jour et rechargement pendant que des lecteurs consultent le
+		// dictionnaire
+		testHotSwap("mots/dictionnaire_FR_sans_accents.txt");
+	}
+}
@@ -0,0 +1,154 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import tree.LexicographicTree.Node;
+
+/**
+ * Levenshtein search of the words of a {@link LexicographicTree} close to a
+ * query.
+ *
+ * The tree is walked depth first while one row of the edit-distance matrix is
+ * kept per depth: the row of a node is computed from the row of its parent
+ * and the character of the node, so words sharing a prefix share its rows.
+ * The smallest value of a row is a lower bound of the distance of every word
+ * below the node, hence a subtree is skipped as soon as it exceeds the
+ * allowed distance. Subtrees without any word of a compatible length are
+ * skipped too, using the length masks of the nodes.
+ */
+final class FuzzyMatcher {
+	private static final Comparator<Match> WORST_FIRST = (a, b) -> a.distance != b.distance
+			? Integer.compare(b.distance, a.distance)
+			: b.word.compareTo(a.word);
+
+	private static final class Match {
+		final String word;
+		final int distance;
+
+		Match(String word, int distance) {
+			this.word = word;
+			this.distance = distance;
+		}
+	}
+
+	private final String query;
+	private final int maxDistance;
+	private final int maxCount;
+	private final int[][] rows;
+	private final char[] word;
+	private final List<String> words = new ArrayList<>();
+	private final PriorityQueue<Match> best;
+
+	/**
+	 * @param query       The query word
+	 * @param maxDistance Maximum edit distance
+	 * @param maxCount    Maximum number of words to keep, or -1 to keep all the
+	 *                    words within 'maxDistance'
+	 */
+	FuzzyMatcher(String query, int maxDistance, int maxCount) {
+		this.query = query;
+		this.maxDistance = maxDistance;
+		this.maxCount = maxCount;
+		int maxDepth = query.length() + maxDistance;
+		this.rows = new int[maxDepth + 1][query.length() + 1];
+		this.word = new char[maxDepth];
+		this.best = maxCount >= 0 ? new PriorityQueue<>(WORST_FIRST) : null;
+		for (int j = 0; j <= query.length(); j++) {
+			rows[0][j] = j;
+		}
+	}
+
+	/**
+	 * Returns the words within the maximum distance, in alphabetical order.
+	 */
+	List<String> matchAll(Node root) {
+		search(root, 0);
+		return words;
+	}
+
+	/**
+	 * Returns the closest words, by increasing distance then in alphabetical
+	 * order.
+	 */
+	List<String> matchClosest(Node root) {
+		if (maxCount > 0) {
+			search(root, 0);
+		}
+		List<Match> matches = new ArrayList<>(best);
+		matches.sort(WORST_FIRST.reversed());
+		List<String> closest = new ArrayList<>(matches.size());
+		for (Match match : matches) {
+			closest.add(match.word);
+		}
+		return closest;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private void search(Node node, int depth) {
+		int[] row = rows[depth];
+		if (node.isEndOfWord && depth > 0 && row[query.length()] <= limit()) {
+			collect(depth, row[query.length()]);
+		}
+		if (depth == word.length) {
+			return;
+		}
+		int[] next = rows[depth + 1];
+		for (Node child = node.child; child != null; child = child.sibling) {
+			int limit = limit();
+			if ((child.lengthMask & lengthRange(depth + 1, limit)) == 0) {
+				continue;
+			}
+			char c = child.value;
+			next[0] = depth + 1;
+			int min = next[0];
+			for (int j = 1; j <= query.length(); j++) {
+				int cost = query.charAt(j - 1) == c ? 0 : 1;
+				next[j] = Math.min(Math.min(row[j] + 1, next[j - 1] + 1), row[j - 1] + cost);
+				min = Math.min(min, next[j]);
+			}
+			if (min <= limit) {
+				word[depth] = c;
+				search(child, depth + 1);
+			}
+		}
+	}
+
+	private void collect(int length, int distance) {
+		if (best == null) {
+			words.add(new String(word, 0, length));
+			return;
+		}
+		best.add(new Match(new String(word, 0, length), distance));
+		if (best.size() > maxCount) {
+			best.poll();
+		}
+	}
+
+	/**
+	 * Returns the largest distance a new word may have to be kept. Once enough
+	 * words are kept, a new word must be strictly closer than the worst one,
+	 * since words are found in alphabetical order.
+	 */
+	private int limit() {
+		if (best == null || best.size() < maxCount) {
+			return maxDistance;
+		}
+		return best.peek().distance - 1;
+	}
+
+	/**
+	 * Returns the length mask of the words a node at a given depth may end, so
+	 * that their length is within 'limit' of the length of the query.
+	 */
+	private int lengthRange(int depth, int limit) {
+		int low = Math.max(0, query.length() - limit - depth);
+		int high = query.length() + limit - depth;
+		return LexicographicTree.lengthRange(low, high);
+	}
+}
@@ -0,0 +1,277 @@
+package tree;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import tree.LexicographicTree.Node;
+
+/**
+ * Read-only dictionary stored as a minimal acyclic automaton (DAWG).
+ *
+ * Unlike {@link LexicographicTree}, which only shares prefixes, identical
+ * suffix subtrees ("-ent", "-ons", "-erions", ...) are stored once and shared
+ * by every word ending with them. The automaton is built incrementally from
+ * words given in alphabetical order (Daciuk et al. algorithm), so only the
+ * path of the last inserted word is ever kept unminimized.
+ */
+public class LexicographicDawg extends AbstractLexicon {
+	private static final class State {
+		char[] labels = new char[2];
+		State[] targets = new State[2];
+		int count;
+		boolean isFinal;
+
+		void addTransition(char label, State target) {
+			if (count == labels.length) {
+				labels = Arrays.copyOf(labels, count * 2);
+				targets = Arrays.copyOf(targets, count * 2);
+			}
+			labels[count] = label;
+			targets[count] = target;
+			count++;
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof State)) {
+				return false;
+			}
+			State other = (State) o;
+			if (isFinal != other.isFinal || count != other.count) {
+				return false;
+			}
+			for (int i = 0; i < count; i++) {
+				if (labels[i] != other.labels[i] || targets[i] != other.targets[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		public int hashCode() {
+			int hash = isFinal ? 1 : 0;
+			for (int i = 0; i < count; i++) {
+				hash = 31 * hash + labels[i];
+				hash = 31 * hash + System.identityHashCode(targets[i]);
+			}
+			return hash;
+		}
+	}
+
+	private final Node root;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : creates a DAWG populated with words
+	 *
+	 * @param filename A text file containing the words in alphabetical order
+	 * @throws IllegalArgumentException If the words are not sorted
+	 */
+	public LexicographicDawg(String filename) {
+		this(readWords(filename));
+	}
+
+	/**
+	 * Constructor : creates a DAWG populated with words
+	 *
+	 * @param words Words in alphabetical order, duplicates are ignored
+	 * @throws IllegalArgumentException If the words are not sorted
+	 */
+	public LexicographicDawg(Iterable<String> words) {
+		Map<State, State> register = new HashMap<>();
+		List<State> path = new ArrayList<>();
+		path.add(new State());
+		String previousWord = "";
+		int count = 0;
+
+		for (String word : words) {
+			if (word == null || word.isEmpty()) {
+				continue;
+			}
+			int order = word.compareTo(previousWord);
+			if (order == 0) {
+				continue;
+			} else if (order < 0) {
+				throw new IllegalArgumentException("Words must be sorted: '" + word + "' after '" + previousWord + "'");
+			}
+			int common = 0;
+			int max = Math.min(word.length(), previousWord.length());
+			while (common < max && word.charAt(common) == previousWord.charAt(common)) {
+				common++;
+			}
+			minimize(path, common, register);
+			for (int i = common; i < word.length(); i++) {
+				State state = new State();
+				path.get(path.size() - 1).addTransition(word.charAt(i), state);
+				path.add(state);
+			}
+			path.get(path.size() - 1).isFinal = true;
+			previousWord = word;
+			count++;
+		}
+		minimize(path, 0, register);
+
+		this.root = LexicographicTree.newNode('\0', toNodes(path.get(0), new IdentityHashMap<>()));
+		this.root.wordCount = count;
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Returns the number of distinct nodes of the automaton, root included.
+	 * Shared suffixes are counted once.
+	 *
+	 * @return The number of nodes
+	 */
+	public int nodeCount() {
+		Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		countNodesRecursive(root, visited);
+		return visited.size();
+	}
+
+	public int size() {
+		return root.wordCount;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static List<String> readWords(String filename) {
+		List<String> words = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String word = line.trim();
+				if (!word.isEmpty()) {
+					words.add(word);
+				}
+			}
+		} catch (IOException e) {
+			System.err.println("Error while reading the file: " + e.getMessage());
+		}
+		return words;
+	}
+
+	/**
+	 * Replaces the states of the unminimized path deeper than 'depth' by their
+	 * registered equivalent, or registers them if they are new.
+	 */
+	private static void minimize(List<State> path, int depth, Map<State, State> register) {
+		for (int i = path.size() - 1; i > depth; i--) {
+			State state = path.remove(i);
+			State parent = path.get(i - 1);
+			State existing = register.putIfAbsent(state, state);
+			if (existing != null) {
+				parent.targets[parent.count - 1] = existing;
+			}
+		}
+	}
+
+	/**
+	 * Converts the transitions of a state into a sibling list of nodes. Lists
+	 * are memoized so that shared states become shared subtrees.
+	 */
+	private static Node toNodes(State state, Map<State, Node> converted) {
+		if (state.count == 0) {
+			return null;
+		}
+		Node first = converted.get(state);
+		if (first != null) {
+			return first;
+		}
+		Node previous = null;
+		for (int i = 0; i < state.count; i++) {
+			Node node = LexicographicTree.newNode(state.labels[i], toNodes(state.targets[i], converted));
+			node.isEndOfWord = state.targets[i].isFinal;
+			node.wordCount = node.isEndOfWord ? 1 : 0;
+			for (Node child = node.child; child != null; child = child.sibling) {
+				node.wordCount += child.wordCount;
+			}
+			if (previous == null) {
+				first = node;
+			} else {
+				previous.sibling = node;
+			}
+			previous = node;
+		}
+		converted.put(state, first);
+		return first;
+	}
+
+	int match(CharSequence prefix) {
+		Node node = findNode(prefix);
+		return node == null ? ABSENT : node.isEndOfWord ? WORD : PREFIX;
+	}
+
+	int match(char[] prefix, int offset, int length) {
+		Node node = findNode(prefix, offset, length);
+		return node == null ? ABSENT : node.isEndOfWord ? WORD : PREFIX;
+	}
+
+	void collectWords(String prefix, int length, List<String> words) {
+		Node node = findNode(prefix);
+		if (node != null) {
+			getWordsRecursive(node, new StringBuilder(prefix), length, words);
+		}
+	}
+
+	private Node findNode(CharSequence prefix) {
+		Node node = root;
+		for (int i = 0; i < prefix.length() && node != null; i++) {
+			node = LexicographicTree.findChild(node, prefix.charAt(i));
+		}
+		return node;
+	}
+
+	private Node findNode(char[] prefix, int offset, int length) {
+		Node node = root;
+		for (int i = offset; i < offset + length && node != null; i++) {
+			node = LexicographicTree.findChild(node, prefix[i]);
+		}
+		return node;
+	}
+
+	private void countNodesRecursive(Node node, Set<Node> visited) {
+		if (!visited.add(node)) {
+			return;
+		}
+		for (Node child = node.child; child != null; child = child.sibling) {
+			countNodesRecursive(child, visited);
+		}
+	}
+
+	/**
+	 * Lists the words below a node, or only those ending 'length' characters
+	 * below the root if 'length' is not negative.
+	 */
+	private void getWordsRecursive(Node node, StringBuilder prefix, int length, List<String> words) {
+		if (node.isEndOfWord && (length < 0 || prefix.length() == length)) {
+			words.add(prefix.toString());
+		}
+		if (length >= 0 && prefix.length() >= length) {
+			return;
+		}
+		for (Node child = node.child; child != null; child = child.sibling) {
+			prefix.append(child.value);
+			getWordsRecursive(child, prefix, length, words);
+			prefix.setLength(prefix.length() - 1);
+		}
+	}
+}
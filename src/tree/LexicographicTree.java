@@ -6,17 +6,54 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
 import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Random;
 import java.util.Scanner;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class LexicographicTree {
-	static class Node {
+import javax.management.JMException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+public class LexicographicTree implements Lexicon {
+	/**
+	 * A node of the tree. Outside of this package, nodes are opaque handles
+	 * used to navigate the tree one character at a time (see {@link #root()}).
+	 */
+	public static class Node {
 		boolean isEndOfWord;
 		Node child;
 		Node sibling;
 		char value;
+		int wordCount; // number of words ending in this node or below
+		int lengthMask; // bit d set if a word ends d characters below this node
+		int weight; // weight of the word ending in this node, 0 by default
+		int maxWeight; // largest weight of a word ending in this node or below
 
 		Node(char value) {
 			this.value = value;
@@ -24,7 +61,211 @@ public class LexicographicTree {
 		}
 	}
 
+	/**
+	 * A node with many children. In addition to the sibling list, which remains
+	 * the reference representation, children 'a' to 'z' are indexed in a
+	 * direct array so that {@link LexicographicTree#findChild(Node, char)}
+	 * takes constant time. Only the few wide nodes near the root and below
+	 * common prefixes pay for the array: a node is widened when its fan-out
+	 * reaches {@code WIDE_FAN_OUT}.
+	 */
+	static final class WideNode extends Node {
+		final Node[] table = new Node[TABLE_SIZE];
+
+		WideNode(char value) {
+			super(value);
+		}
+
+		/**
+		 * Copies a node and indexes its children.
+		 */
+		WideNode(Node node) {
+			super(node.value);
+			isEndOfWord = node.isEndOfWord;
+			child = node.child;
+			sibling = node.sibling;
+			wordCount = node.wordCount;
+			lengthMask = node.lengthMask;
+			weight = node.weight;
+			maxWeight = node.maxWeight;
+			for (Node c = child; c != null; c = c.sibling) {
+				index(c);
+			}
+		}
+
+		void index(Node node) {
+			int i = node.value - TABLE_FIRST;
+			if (i >= 0 && i < TABLE_SIZE) {
+				table[i] = node;
+			}
+		}
+	}
+
+	static final int WIDE_FAN_OUT = 8;
+	private static final char TABLE_FIRST = 'a';
+	private static final int TABLE_SIZE = 26;
+
+	/**
+	 * Last bit of a length mask, set for every word ending
+	 * {@code MAX_TRACKED_LENGTH} characters or more below a node.
+	 */
+	static final int MAX_TRACKED_LENGTH = 31;
+
+	// Below this batch size, lookupChildren walks each word on its own
+	private static final int SMALL_BATCH = 4;
+
+	private static final Comparator<Completion> HEAVIEST_FIRST = (a, b) -> a.weight != b.weight
+			? Integer.compare(b.weight, a.weight)
+			: a.word.compareTo(b.word);
+	private static final Pattern TOKEN = Pattern.compile("\\p{L}+(?:['-]\\p{L}+)*");
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+	/**
+	 * An entry of the top-k search: either a subtree, weighted by the largest
+	 * weight below it, or a complete word (node == null).
+	 */
+	private static final class Completion {
+		final Node node;
+		final String word;
+		final int weight;
+
+		Completion(Node node, String word, int weight) {
+			this.node = node;
+			this.word = word;
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * Builds a tree from words supplied in alphabetical order.
+	 * 
+	 * The builder keeps the path of the last word. As the next word is greater,
+	 * it shares a prefix with that path and its remaining characters are
+	 * appended after the last child of the path: no sibling list is scanned,
+	 * so each character costs O(1). A word out of order is either inserted
+	 * through the general {@link LexicographicTree#insertWord(String)} path or
+	 * rejected, depending on the builder mode.
+	 */
+	public static class SortedBuilder {
+		private final boolean strict;
+		private LexicographicTree tree;
+		private Node[] path = new Node[32];
+		private String lastWord = "";
+
+		/**
+		 * Constructor : creates a builder that falls back to the general insertion
+		 * for words out of order.
+		 */
+		public SortedBuilder() {
+			this(false);
+		}
+
+		/**
+		 * Constructor : creates a builder.
+		 * 
+		 * @param strict True to reject words out of order, false to insert them
+		 *               through the general insertion path
+		 */
+		public SortedBuilder(boolean strict) {
+			this(new LexicographicTree(), strict);
+		}
+
+		private SortedBuilder(LexicographicTree tree, boolean strict) {
+			this.tree = tree;
+			this.strict = strict;
+			this.path[0] = tree.root;
+		}
+
+		/**
+		 * Adds a word to the tree being built. Duplicates are ignored.
+		 * 
+		 * @param word A word, normally greater than the previous one
+		 * @return This builder
+		 * @throws IllegalArgumentException If the builder is strict and the word is
+		 *                                  lower than the previous one
+		 * @throws IllegalStateException    If the tree has already been built
+		 */
+		public SortedBuilder add(String word) {
+			if (tree == null) {
+				throw new IllegalStateException("The tree has already been built");
+			}
+			if (word == null || word.trim().isEmpty()) {
+				return this;
+			}
+			int order = word.compareTo(lastWord);
+			if (order == 0) {
+				return this;
+			} else if (order < 0) {
+				if (strict) {
+					throw new IllegalArgumentException("Words must be sorted: '" + word + "' after '" + lastWord + "'");
+				}
+				// The path of the last (greatest) word keeps its place, but some of
+				// its nodes may have been widened
+				tree.insertWord(word);
+				path[0] = tree.root;
+				for (int i = 0; i < lastWord.length(); i++) {
+					path[i + 1] = findChild(path[i], lastWord.charAt(i));
+				}
+				return this;
+			}
+
+			int common = 0;
+			int max = Math.min(word.length(), lastWord.length());
+			while (common < max && word.charAt(common) == lastWord.charAt(common)) {
+				common++;
+			}
+			if (path.length <= word.length()) {
+				path = Arrays.copyOf(path, Math.max(path.length * 2, word.length() + 1));
+			}
+			for (int i = common; i < word.length(); i++) {
+				Node node = tree.allocate(word.charAt(i));
+				if (i == common && common < lastWord.length()) {
+					path[i + 1].sibling = node;
+				} else {
+					path[i].child = node;
+				}
+				path[i + 1] = node;
+			}
+			path[common] = tree.childAdded(common > 0 ? path[common - 1] : null, path[common], path[common + 1]);
+			path[word.length()].isEndOfWord = true;
+			for (int depth = 0; depth <= word.length(); depth++) {
+				path[depth].wordCount++;
+				path[depth].lengthMask |= lengthBit(word.length() - depth);
+			}
+			lastWord = word;
+			return this;
+		}
+
+		/**
+		 * Returns the built tree. The builder cannot be used afterwards.
+		 * 
+		 * @return The lexicographic tree
+		 */
+		public LexicographicTree build() {
+			LexicographicTree built = tree;
+			tree = null;
+			built.clearCache();
+			return built;
+		}
+	}
+
+	/**
+	 * Maximum number of removed nodes kept for reuse. Beyond it, removed nodes
+	 * are left to the garbage collector.
+	 */
+	static final int MAX_FREE_NODES = 1 << 16;
+
 	private Node root;
+	private final Map<Integer, List<String>> wordsOfLengthCache = new ConcurrentHashMap<>();
+	private volatile RepetitionPatternIndex repetitionPatterns; // built on demand
+	private Node freeNodes; // chained through their sibling field
+	private int freeNodeCount;
+	private BloomFilter negativeFilter;
+	private LexicographicTree reversedWords; // suffix index, the words spelled backwards
+	// Negative filter counters, updated by concurrent readers of the tree
+	private final LongAdder filterRejections = new LongAdder();
+	private final LongAdder filterPasses = new LongAdder();
+	private final LongAdder filterFalsePositives = new LongAdder();
 	/*
 	 * CONSTRUCTORS
 	 */
@@ -43,13 +284,14 @@ public class LexicographicTree {
 	 */
 	public LexicographicTree(String filename) {
 		this();
+		SortedBuilder builder = new SortedBuilder(this, false);
 		try (BufferedReader reader = new BufferedReader(
 				new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8))) {
 			String line;
 			while ((line = reader.readLine()) != null) {
 				String word = line.trim();
 				if (!word.isEmpty()) {
-					insertWord(word);
+					builder.add(word);
 				}
 			}
 		} catch (IOException e) {
@@ -57,6 +299,23 @@ public class LexicographicTree {
 		}
 	}
 
+	/**
+	 * Creates a lexicographic tree populated with words, reading and building
+	 * it on all the cores of the common fork-join pool. The result is identical
+	 * to {@link #LexicographicTree(String)}.
+	 * 
+	 * @param filename A text file containing the words to be inserted in the tree
+	 * @return The lexicographic tree, empty if the file cannot be read
+	 */
+	public static LexicographicTree bulkLoad(String filename) {
+		try {
+			return ParallelTreeLoader.load(filename, ForkJoinPool.commonPool());
+		} catch (IOException e) {
+			System.err.println("Error while reading the file: " + e.getMessage());
+			return new LexicographicTree();
+		}
+	}
+
 	/*
 	 * PUBLIC METHODS
 	 */
@@ -67,7 +326,7 @@ public class LexicographicTree {
 	 * @return The number of words present in the lexicographic tree
 	 */
 	public int size() {
-		return sizeRecursive(root);
+		return root.wordCount;
 	}
 
 	/**
@@ -75,94 +334,897 @@ public class LexicographicTree {
 	 * 
 	 * @param word A word
 	 */
-	public void insertWord(String word) {
-		if (word != null && word.trim().length() > 0) {
-			insertWordRecursive(root, word);
-		}
+	public void insertWord(String word) {
+		if (word != null && word.trim().length() > 0 && !isWord(findNode(word))) {
+			Node parent = null;
+			Node node = root;
+			node.wordCount++;
+			node.lengthMask |= lengthBit(word.length());
+			for (int i = 0; i < word.length(); i++) {
+				Node child = findChild(node, word.charAt(i));
+				if (child == null) {
+					child = insertChild(node, word.charAt(i));
+					node = childAdded(parent, node, child);
+				}
+				parent = node;
+				node = child;
+				node.wordCount++;
+				node.lengthMask |= lengthBit(word.length() - i - 1);
+			}
+			node.isEndOfWord = true;
+			clearCache();
+			if (reversedWords != null) {
+				reversedWords.insertWord(reverse(word));
+			}
+			if (negativeFilter != null) {
+				if (size() > 2 * negativeFilter.capacity()) {
+					negativeFilter = buildNegativeFilter(negativeFilter.falsePositiveRate());
+				} else {
+					negativeFilter.add(word);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Inserts a word in the lexicographic tree if not already present, and
+	 * sets its weight.
+	 * 
+	 * @param word   A word
+	 * @param weight Weight of the word, e.g. its frequency
+	 * @throws IllegalArgumentException If the weight is negative
+	 */
+	public void insertWord(String word, int weight) {
+		if (weight < 0) {
+			throw new IllegalArgumentException("Negative weight: " + weight);
+		}
+		insertWord(word);
+		setWeight(word, weight);
+	}
+
+	/**
+	 * Sets the weight of a word of the tree, used to rank the completions of
+	 * {@link #topK(String, int)}. Words have a weight of 0 until set.
+	 * 
+	 * @param word   A word
+	 * @param weight Weight of the word, e.g. its frequency
+	 * @return True if the word is present, false otherwise
+	 * @throws IllegalArgumentException If the weight is negative
+	 */
+	public boolean setWeight(String word, int weight) {
+		if (weight < 0) {
+			throw new IllegalArgumentException("Negative weight: " + weight);
+		}
+		if (word == null || word.isEmpty()) {
+			return false;
+		}
+		Node[] path = findPath(word);
+		if (path == null || !path[word.length()].isEndOfWord) {
+			return false;
+		}
+		path[word.length()].weight = weight;
+		for (int depth = word.length(); depth >= 0; depth--) {
+			if (!updateMaxWeight(path[depth])) {
+				break;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the weight of a word.
+	 * 
+	 * @param word A word
+	 * @return The weight of the word, or 0 if it is absent
+	 */
+	public int getWeight(String word) {
+		if (word == null || word.isEmpty()) {
+			return 0;
+		}
+		Node node = findNode(word);
+		return node != null && node.isEndOfWord ? node.weight : 0;
+	}
+
+	/**
+	 * Sets the weights of the words of the tree from a frequency file. Each
+	 * line holds a word and its weight, separated by spaces, a tab, a comma or
+	 * a semicolon. Lines that do not end with a number, such as a header, and
+	 * words absent from the tree are ignored.
+	 * 
+	 * @param filename A text file of word frequencies
+	 * @return The number of words whose weight was set
+	 */
+	public int loadWeights(String filename) {
+		int count = 0;
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] fields = line.trim().split("[\\s,;]+");
+				if (fields.length >= 2) {
+					try {
+						int weight = Integer.parseInt(fields[fields.length - 1]);
+						if (weight >= 0 && setWeight(fields[0], weight)) {
+							count++;
+						}
+					} catch (NumberFormatException e) {
+						// Not a frequency line
+					}
+				}
+			}
+		} catch (IOException e) {
+			System.err.println("Error while reading the file: " + e.getMessage());
+		}
+		return count;
+	}
+
+	/**
+	 * Sets the weight of the words of the tree to their number of occurrences
+	 * in a text. The text is lowercased and its accents are removed, to match
+	 * a dictionary without accents; a compound such as "l'annee" that is not
+	 * in the tree counts for each of its parts. The weight of the words absent
+	 * from the text is left unchanged.
+	 * 
+	 * @param filename A text file, e.g. a novel
+	 * @return The number of words whose weight was set
+	 */
+	public int loadWeightsFromCorpus(String filename) {
+		Map<String, Integer> occurrences = new HashMap<>();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				Matcher matcher = TOKEN.matcher(normalize(line));
+				while (matcher.find()) {
+					String token = matcher.group();
+					if (containsWord(token)) {
+						occurrences.merge(token, 1, Integer::sum);
+					} else {
+						for (String part : token.split("['-]")) {
+							if (containsWord(part)) {
+								occurrences.merge(part, 1, Integer::sum);
+							}
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			System.err.println("Error while reading the file: " + e.getMessage());
+		}
+		for (Map.Entry<String, Integer> entry : occurrences.entrySet()) {
+			setWeight(entry.getKey(), entry.getValue());
+		}
+		return occurrences.size();
+	}
+
+	/**
+	 * Builds a Bloom filter of the words of the tree, checked by
+	 * {@code containsWord} before walking the tree: most absent words are then
+	 * rejected after hashing them, without any node access. The filter follows
+	 * insertions and is rebuilt when the tree outgrows it. Removed words stay
+	 * in the filter, which only costs a walk of the tree when they are looked
+	 * up.
+	 * 
+	 * @param falsePositiveRate Target proportion of absent words that still
+	 *                          need a walk of the tree, e.g. 0.01
+	 * @throws IllegalArgumentException If the rate is not between 0 and 1
+	 *                                  exclusive
+	 */
+	public void enableNegativeFilter(double falsePositiveRate) {
+		negativeFilter = buildNegativeFilter(falsePositiveRate);
+		filterRejections.reset();
+		filterPasses.reset();
+		filterFalsePositives.reset();
+	}
+
+	/**
+	 * Removes the negative filter, if any.
+	 */
+	public void disableNegativeFilter() {
+		negativeFilter = null;
+	}
+
+	/**
+	 * Returns the counters of the lookups made through the negative filter
+	 * since it was last enabled.
+	 * 
+	 * @return The filter statistics
+	 */
+	public BloomFilter.Statistics negativeFilterStatistics() {
+		return new BloomFilter.Statistics(filterRejections.sum(), filterPasses.sum(),
+				filterFalsePositives.sum());
+	}
+
+	/**
+	 * Builds a suffix index: a second tree holding the words spelled
+	 * backwards, so that the words ending with a suffix are the words of the
+	 * second tree starting with the reversed suffix. The index follows
+	 * insertions and removals, and doubles the memory used by the tree.
+	 */
+	public void enableSuffixIndex() {
+		SortedBuilder builder = new SortedBuilder(true);
+		streamWords("").map(LexicographicTree::reverse).sorted().forEach(builder::add);
+		reversedWords = builder.build();
+	}
+
+	/**
+	 * Removes the suffix index, if any.
+	 */
+	public void disableSuffixIndex() {
+		reversedWords = null;
+	}
+
+	/**
+	 * Removes a word from the lexicographic tree. The nodes left without any
+	 * word are unlinked and recycled for later insertions.
+	 * 
+	 * @param word A word
+	 * @return True if the word was present, false otherwise
+	 */
+	public boolean removeWord(String word) {
+		if (word == null || word.isEmpty()) {
+			return false;
+		}
+		Node[] path = findPath(word);
+		if (path == null || !path[word.length()].isEndOfWord) {
+			return false;
+		}
+		path[word.length()].isEndOfWord = false;
+		path[word.length()].weight = 0;
+		removeFromPath(path, 1);
+		if (reversedWords != null) {
+			reversedWords.removeWord(reverse(word));
+		}
+		return true;
+	}
+
+	/**
+	 * Removes all the words starting with the supplied prefix. If 'prefix' is
+	 * an empty string, the tree is emptied.
+	 * 
+	 * @param prefix Prefix of the words to remove
+	 * @return The number of removed words
+	 */
+	public int removePrefix(String prefix) {
+		if (prefix == null || prefix.isEmpty()) {
+			int count = size();
+			recycleChildren(root);
+			root = new Node('\0');
+			clearCache();
+			if (reversedWords != null) {
+				reversedWords = new LexicographicTree();
+			}
+			return count;
+		}
+		Node[] path = findPath(prefix);
+		if (path == null) {
+			return 0;
+		}
+		if (reversedWords != null) {
+			for (String word : getWords(prefix)) {
+				reversedWords.removeWord(reverse(word));
+			}
+		}
+		int count = path[prefix.length()].wordCount;
+		removeFromPath(path, count);
+		return count;
+	}
+
+	/**
+	 * Determines if a word is present in the lexicographic tree.
+	 * 
+	 * @param word A word
+	 * @return True if the word is present, false otherwise
+	 */
+	public boolean containsWord(CharSequence word) {
+		if (word == null || word.length() == 0) {
+			return false;
+		}
+		if (negativeFilter != null && !negativeFilter.mightContain(word)) {
+			filterRejections.increment();
+			return false;
+		}
+		Node node = findNode(word);
+		return filtered(node != null && node.isEndOfWord);
+	}
+
+	/**
+	 * Determines if a word, given as a slice of a char array, is present in the
+	 * lexicographic tree. No object is allocated during the lookup.
+	 * 
+	 * @param word   A buffer containing the word
+	 * @param offset Index of the first character of the word
+	 * @param length Length of the word
+	 * @return True if the word is present, false otherwise
+	 */
+	public boolean containsWord(char[] word, int offset, int length) {
+		if (word == null || length <= 0) {
+			return false;
+		}
+		Objects.checkFromIndexSize(offset, length, word.length);
+		if (negativeFilter != null && !negativeFilter.mightContain(word, offset, length)) {
+			filterRejections.increment();
+			return false;
+		}
+		Node node = findNode(word, offset, length);
+		return filtered(node != null && node.isEndOfWord);
+	}
+
+	/**
+	 * Looks up a batch of words in a single walk of the tree. The words are
+	 * partitioned by their first character, each group goes down to the
+	 * matching child together and is partitioned again by the next character,
+	 * as in a multikey quicksort. A prefix shared by several words is thus
+	 * walked once, and a group is dropped as soon as its prefix is missing, so
+	 * the cost is close to the size of the tree formed by the words rather
+	 * than to the sum of their lengths.
+	 * 
+	 * @param words A list of words, possibly with duplicates or null elements
+	 * @return The set of the indexes, in 'words', of the words present in the
+	 *         tree
+	 */
+	public BitSet lookupBatch(List<? extends CharSequence> words) {
+		BitSet found = new BitSet(words.size());
+		CharSequence[] batch = words.toArray(new CharSequence[0]);
+		int[] order = new int[batch.length];
+		int count = 0;
+		for (int i = 0; i < batch.length; i++) {
+			if (batch[i] != null && batch[i].length() > 0) {
+				order[count++] = i;
+			}
+		}
+		lookupBatch(root, 0, batch, order, 0, count, found);
+		return found;
+	}
+
+	/**
+	 * Determines if all the words of a collection are present in the
+	 * lexicographic tree, looking them up in a single walk of the tree.
+	 * 
+	 * @param words A collection of words
+	 * @return True if every word is present, false otherwise
+	 */
+	public boolean containsAll(Collection<? extends CharSequence> words) {
+		List<? extends CharSequence> list = words instanceof List ? (List<? extends CharSequence>) words
+				: new ArrayList<>(words);
+		return lookupBatch(list).cardinality() == list.size();
+	}
+
+	/**
+	 * Determines if a prefix is present in the lexicographic tree.
+	 * 
+	 * @param prefix A prefix
+	 * @return True if the prefix is present, false otherwise
+	 */
+	public boolean containsPrefix(CharSequence prefix) {
+		if (prefix == null || prefix.length() == 0) {
+			return false;
+		}
+		return findNode(prefix) != null;
+	}
+
+	/**
+	 * Determines if a prefix, given as a slice of a char array, is present in the
+	 * lexicographic tree. No object is allocated during the lookup.
+	 * 
+	 * @param prefix A buffer containing the prefix
+	 * @param offset Index of the first character of the prefix
+	 * @param length Length of the prefix
+	 * @return True if the prefix is present, false otherwise
+	 */
+	public boolean containsPrefix(char[] prefix, int offset, int length) {
+		if (prefix == null || length <= 0) {
+			return false;
+		}
+		Objects.checkFromIndexSize(offset, length, prefix.length);
+		return findNode(prefix, offset, length) != null;
+	}
+
+	/**
+	 * Returns an alphabetic list of all words starting with the supplied prefix.
+	 * If 'prefix' is an empty string, all words are returned.
+	 * 
+	 * @param prefix Expected prefix
+	 * @return The list of words starting with the supplied prefix
+	 */
+	public List<String> getWords(String prefix) {
+		List<String> words = new ArrayList<>();
+		if (prefix == null || prefix.trim().isEmpty()) {
+			getWordsRecursive(root, "", words);
+		} else {
+			Node prefixNode = findNode(prefix);
+			if (prefixNode != null) {
+				getWordsRecursive(prefixNode, prefix, words);
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * Returns an alphabetic list of all words ending with the supplied suffix.
+	 * If 'suffix' is an empty string, all words are returned. With the suffix
+	 * index (see {@link #enableSuffixIndex()}), the cost depends on the number
+	 * of words found; without it, all the words of the tree are checked.
+	 * 
+	 * @param suffix Expected suffix
+	 * @return The list of words ending with the supplied suffix
+	 */
+	public List<String> getWordsWithSuffix(String suffix) {
+		if (suffix == null || suffix.isEmpty()) {
+			return getWords("");
+		}
+		if (reversedWords == null) {
+			return streamWords("").filter(word -> word.endsWith(suffix)).collect(Collectors.toList());
+		}
+		List<String> words = new ArrayList<>();
+		for (String word : reversedWords.getWords(reverse(suffix))) {
+			words.add(reverse(word));
+		}
+		words.sort(null);
+		return words;
+	}
+
+	/**
+	 * Returns an alphabetic list of all words made of a prefix, any number of
+	 * characters and a suffix, such as "re*ment". The prefix and the suffix do
+	 * not overlap. The words are listed from the prefix or, with the suffix
+	 * index, from the suffix if fewer words end with it than start with the
+	 * prefix: the cost depends on the smaller of these two numbers.
+	 * 
+	 * @param prefix Expected prefix
+	 * @param suffix Expected suffix
+	 * @return The list of words starting with 'prefix' and ending with 'suffix'
+	 */
+	public List<String> getWordsMatching(String prefix, String suffix) {
+		String start = prefix == null ? "" : prefix;
+		String end = suffix == null ? "" : suffix;
+		int minLength = start.length() + end.length();
+		List<String> candidates;
+		if (reversedWords != null
+				&& reversedWords.countWordsWithPrefix(reverse(end)) < countWordsWithPrefix(start)) {
+			candidates = getWordsWithSuffix(end);
+		} else {
+			candidates = getWords(start);
+		}
+		List<String> words = new ArrayList<>();
+		for (String word : candidates) {
+			if (word.length() >= minLength && word.startsWith(start) && word.endsWith(end)) {
+				words.add(word);
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * Returns an alphabetic list of all words of a given length.
+	 * If 'length' is lower than or equal to zero, an empty list is returned.
+	 * Subtrees without any word of the expected length are skipped, and the
+	 * result is cached until the next insertion or removal. Concurrent calls
+	 * are safe as long as the tree is not modified. The cache holds one string
+	 * per word of each length queried, i.e. at most a second copy of the
+	 * dictionary; see {@link #clearCache()}. The cached list itself is
+	 * returned, so it cannot be modified.
+	 * 
+	 * @param length Expected word length
+	 * @return The unmodifiable list of words with the given length
+	 */
+	public List<String> getWordsOfLength(int length) {
+		if (length <= 0) {
+			return Collections.emptyList();
+		}
+		List<String> words = wordsOfLengthCache.get(length);
+		if (words == null) {
+			List<String> found = new ArrayList<>();
+			if (hasWordAtDistance(root, length)) {
+				getWordsOfLengthRecursive(root, new char[length], 0, found);
+			}
+			words = Collections.unmodifiableList(found);
+			wordsOfLengthCache.put(length, words);
+		}
+		return words;
+	}
+
+	/**
+	 * Releases the lists of words cached by {@link #getWordsOfLength(int)} and
+	 * the index returned by {@link #repetitionPatterns()}.
+	 */
+	public void clearCache() {
+		wordsOfLengthCache.clear();
+		repetitionPatterns = null;
+	}
+
+	/**
+	 * Returns the index of the words of the tree by letter-repetition pattern.
+	 * The index is built on the first call and kept until the next insertion or
+	 * removal, so that every cryptogram analysed with this dictionary shares it.
+	 * 
+	 * @return The repetition pattern index of the words
+	 */
+	public RepetitionPatternIndex repetitionPatterns() {
+		RepetitionPatternIndex index = repetitionPatterns;
+		if (index == null) {
+			index = new RepetitionPatternIndex(this);
+			repetitionPatterns = index;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns a lazy stream of all words starting with the supplied prefix, in
+	 * alphabetical order. If 'prefix' is an empty string, all words are
+	 * streamed. Parallel streams split the work at subtree boundaries.
+	 * The tree must not be modified while the stream is consumed.
+	 * 
+	 * @param prefix Expected prefix
+	 * @return The stream of words starting with the supplied prefix
+	 */
+	public Stream<String> streamWords(String prefix) {
+		return StreamSupport.stream(wordSpliterator(prefix, -1), false);
+	}
+
+	/**
+	 * Returns a lazy stream of all words of a given length, in alphabetical
+	 * order. If 'length' is lower than or equal to zero, the stream is empty.
+	 * 
+	 * @param length Expected word length
+	 * @return The stream of words with the given length
+	 */
+	public Stream<String> streamWordsOfLength(int length) {
+		if (length <= 0) {
+			return Stream.empty();
+		}
+		return StreamSupport.stream(wordSpliterator("", length), false);
+	}
+
+	/**
+	 * Returns a lazy stream of the words that can be formed with some of the
+	 * supplied letters, each letter being used at most as many times as it
+	 * appears, in alphabetical order. A '?' stands for any letter. Words with
+	 * other characters, such as "a-cote", cannot be formed. The tree must not
+	 * be modified while the stream is consumed.
+	 * 
+	 * @param letters   The letters, e.g. a Scrabble rack; case and whitespace
+	 *                  are ignored
+	 * @param minLength Minimum length of the words
+	 * @return The stream of the words formed with the letters
+	 * @throws IllegalArgumentException If 'letters' holds a character other
+	 *                                  than a letter, a '?' or whitespace
+	 */
+	public Stream<String> wordsFromLetters(CharSequence letters, int minLength) {
+		if (letters == null) {
+			return Stream.empty();
+		}
+		return StreamSupport.stream(new AnagramSpliterator(root, letters, minLength), false);
+	}
+
+	/**
+	 * Returns a lazy stream of the anagrams of the supplied letters, i.e. of
+	 * the words that use all of them, in alphabetical order.
+	 * 
+	 * @param letters The letters; case and whitespace are ignored, and a '?'
+	 *                stands for any letter
+	 * @return The stream of the anagrams of the letters
+	 * @throws IllegalArgumentException If 'letters' holds a character other
+	 *                                  than a letter, a '?' or whitespace
+	 */
+	public Stream<String> anagrams(CharSequence letters) {
+		if (letters == null) {
+			return Stream.empty();
+		}
+		int length = (int) letters.chars().filter(c -> !Character.isWhitespace(c)).count();
+		return wordsFromLetters(letters, length);
+	}
+
+	/**
+	 * Returns a lazy iterator over all words starting with the supplied prefix,
+	 * in alphabetical order.
+	 * 
+	 * @param prefix Expected prefix
+	 * @return An iterator over the words starting with the supplied prefix
+	 */
+	public Iterator<String> wordIterator(String prefix) {
+		return Spliterators.iterator(wordSpliterator(prefix, -1));
+	}
+
+	/**
+	 * Returns a handle on the root of the tree, i.e. on the empty prefix.
+	 * Handles let a client extend a prefix one character at a time without
+	 * walking the tree again from the root. Handles must not be kept across
+	 * insertions and removals, which may replace or recycle the nodes they
+	 * refer to.
+	 * 
+	 * @return The handle of the empty prefix
+	 */
+	public Node root() {
+		return root;
+	}
+
+	/**
+	 * Extends the prefix of a handle by one character.
+	 * 
+	 * @param handle The handle of a prefix, or null
+	 * @param c      The next character
+	 * @return The handle of the extended prefix, or null if no word starts with
+	 *         it
+	 */
+	public Node step(Node handle, char c) {
+		return handle != null ? findChild(handle, c) : null;
+	}
+
+	/**
+	 * Determines if the prefix of a handle is a word.
+	 * 
+	 * @param handle The handle of a prefix, or null
+	 * @return True if the prefix is a word, false otherwise
+	 */
+	public boolean isWord(Node handle) {
+		return handle != null && handle.isEndOfWord;
+	}
+
+	/**
+	 * Determines if the prefix of a handle can be extended into a longer word.
+	 * 
+	 * @param handle The handle of a prefix, or null
+	 * @return True if a longer word starts with the prefix, false otherwise
+	 */
+	public boolean hasChildren(Node handle) {
+		return handle != null && handle.child != null;
+	}
+
+	/**
+	 * Returns the letters that extend the prefix of a handle, as a bitmask
+	 * where bit 0 stands for 'a' and bit 25 for 'z'. Other characters ('-',
+	 * '\'', ...) are not reported.
+	 * 
+	 * @param handle The handle of a prefix, or null
+	 * @return The bitmask of the letters that can follow the prefix
+	 */
+	public int childMask(Node handle) {
+		int mask = 0;
+		if (handle != null) {
+			for (Node child = handle.child; child != null; child = child.sibling) {
+				if (child.value >= 'a' && child.value <= 'z') {
+					mask |= 1 << (child.value - 'a');
+				}
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Returns the number of words starting with the supplied prefix, in
+	 * O(|prefix|). If 'prefix' is an empty string, all words are counted.
+	 * 
+	 * @param prefix Expected prefix
+	 * @return The number of words starting with the supplied prefix
+	 */
+	public int countWordsWithPrefix(String prefix) {
+		if (prefix == null || prefix.trim().isEmpty()) {
+			return size();
+		}
+		Node node = findNode(prefix);
+		return node != null ? node.wordCount : 0;
+	}
+
+	/**
+	 * Returns the rank of a word, i.e. the number of words of the tree that come
+	 * before it in alphabetical order. The word itself does not need to be
+	 * present: its rank is then the position where it would be inserted.
+	 * 
+	 * @param word A word
+	 * @return The number of words strictly lower than 'word'
+	 */
+	public int rank(String word) {
+		int rank = 0;
+		if (word == null) {
+			return rank;
+		}
+		Node node = root;
+		for (int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			if (node.isEndOfWord) {
+				rank++;
+			}
+			Node child = node.child;
+			while (child != null && child.value < c) {
+				rank += child.wordCount;
+				child = child.sibling;
+			}
+			if (child == null || child.value != c) {
+				return rank;
+			}
+			node = child;
+		}
+		return rank;
+	}
+
+	/**
+	 * Returns the word at a given position in alphabetical order, in
+	 * O(depth x fan-out).
+	 * 
+	 * @param index Position of the word, from 0 to size() - 1
+	 * @return The word with the given rank
+	 * @throws IndexOutOfBoundsException If 'index' is out of range
+	 */
+	public String select(int index) {
+		Objects.checkIndex(index, size());
+		StringBuilder word = new StringBuilder();
+		Node node = root;
+		while (true) {
+			if (node.isEndOfWord) {
+				if (index == 0) {
+					return word.toString();
+				}
+				index--;
+			}
+			Node child = node.child;
+			while (index >= child.wordCount) {
+				index -= child.wordCount;
+				child = child.sibling;
+			}
+			word.append(child.value);
+			node = child;
+		}
+	}
+
+	/**
+	 * Returns a word drawn uniformly at random, without listing the words.
+	 * 
+	 * @param random A random number generator
+	 * @return A random word, or null if the tree is empty
+	 */
+	public String randomWord(Random random) {
+		return size() == 0 ? null : select(random.nextInt(size()));
 	}
 
 	/**
-	 * Determines if a word is present in the lexicographic tree.
+	 * Returns an alphabetic list of all words within a given Levenshtein
+	 * distance of a word. Subtrees that cannot contain such a word are pruned,
+	 * so the cost depends on the size of the neighbourhood rather than on the
+	 * size of the tree.
 	 * 
-	 * @param word A word
-	 * @return True if the word is present, false otherwise
+	 * @param word        A word, not necessarily in the tree
+	 * @param maxDistance Maximum number of insertions, deletions and
+	 *                    substitutions
+	 * @return The list of words within 'maxDistance' of 'word'
 	 */
-	public boolean containsWord(String word) {
-		return word != null && !word.isEmpty() && containsWordRecursive(root, word);
+	public List<String> getWordsWithinDistance(String word, int maxDistance) {
+		if (word == null || maxDistance < 0) {
+			return new ArrayList<>();
+		}
+		return new FuzzyMatcher(word, maxDistance, -1).matchAll(root);
 	}
 
 	/**
-	 * Determines if a prefix is present in the lexicographic tree.
+	 * Returns the words closest to a word, by increasing Levenshtein distance
+	 * then in alphabetical order. The search bound tightens as close words are
+	 * found.
 	 * 
-	 * @param prefix A prefix
-	 * @return True if the prefix is present, false otherwise
+	 * @param word        A word, not necessarily in the tree
+	 * @param maxDistance Maximum number of insertions, deletions and
+	 *                    substitutions
+	 * @param count       Maximum number of words to return
+	 * @return The list of at most 'count' words within 'maxDistance' of 'word'
 	 */
-	public boolean containsPrefix(String prefix) {
-		if (prefix == null || prefix.isEmpty()) {
-			return false;
+	public List<String> getClosestWords(String word, int maxDistance, int count) {
+		if (word == null || maxDistance < 0 || count <= 0) {
+			return new ArrayList<>();
 		}
-		return containsPrefixRecursive(root, prefix);
+		return new FuzzyMatcher(word, maxDistance, count).matchClosest(root);
 	}
 
 	/**
-	 * Returns an alphabetic list of all words starting with the supplied prefix.
-	 * If 'prefix' is an empty string, all words are returned.
+	 * Returns the heaviest words starting with the supplied prefix, by
+	 * decreasing weight then in alphabetical order. If 'prefix' is an empty
+	 * string, all words are candidates.
+	 * 
+	 * The search is best first: a queue holds subtrees, ranked by the largest
+	 * weight below them, and complete words. The head of the queue is either
+	 * the next word to return or a subtree to expand, so that only the subtrees
+	 * leading to the k words, O(k x depth), are opened.
 	 * 
 	 * @param prefix Expected prefix
-	 * @return The list of words starting with the supplied prefix
+	 * @param k      Maximum number of words to return
+	 * @return The list of at most 'k' words starting with the supplied prefix
 	 */
-	public List<String> getWords(String prefix) {
+	public List<String> topK(String prefix, int k) {
 		List<String> words = new ArrayList<>();
 		if (prefix == null || prefix.trim().isEmpty()) {
-			getWordsRecursive(root, "", words);
-		} else {
-			Node prefixNode = findPrefixNode(root, prefix);
-			if (prefixNode != null) {
-				getWordsRecursive(prefixNode, prefix, words);
+			prefix = "";
+		}
+		Node node = findNode(prefix);
+		if (node == null || k <= 0) {
+			return words;
+		}
+		PriorityQueue<Completion> queue = new PriorityQueue<>(HEAVIEST_FIRST);
+		queue.add(new Completion(node, prefix, node.maxWeight));
+		while (!queue.isEmpty() && words.size() < k) {
+			Completion best = queue.poll();
+			if (best.node == null) {
+				words.add(best.word);
+				continue;
+			}
+			if (best.node.isEndOfWord) {
+				queue.add(new Completion(null, best.word, best.node.weight));
+			}
+			for (Node child = best.node.child; child != null; child = child.sibling) {
+				queue.add(new Completion(child, best.word + child.value, child.maxWeight));
 			}
 		}
 		return words;
 	}
 
 	/**
-	 * Returns an alphabetic list of all words of a given length.
-	 * If 'length' is lower than or equal to zero, an empty list is returned.
+	 * Computes the shape and the estimated memory footprint of the tree, in a
+	 * single pass over its nodes.
 	 * 
-	 * @param length Expected word length
-	 * @return The list of words with the given length
+	 * @return The statistics of the tree
 	 */
-	public List<String> getWordsOfLength(int length) {
-		List<String> words = new ArrayList<>();
-		getWordsOfLengthRecursive(root, "", length, words);
-		return words;
+	public TreeStatistics stats() {
+		return new TreeStatistics(root);
+	}
+
+	/**
+	 * Registers the statistics of the tree as an MXBean of the platform MBean
+	 * server, under the name "tree:type=LexicographicTree,name=<name>". The
+	 * server keeps the tree reachable until {@link #unregisterMBean(String)}.
+	 * 
+	 * @param name The name of the dictionary
+	 * @return The name of the registered MXBean
+	 * @throws JMException If the name is invalid or already registered
+	 */
+	public ObjectName registerMBean(String name) throws JMException {
+		ObjectName objectName = mbeanName(name);
+		ManagementFactory.getPlatformMBeanServer().registerMBean(new LexicographicTreeMonitor(this), objectName);
+		return objectName;
+	}
+
+	/**
+	 * Unregisters the MXBean registered by {@link #registerMBean(String)} under
+	 * the same name, so that the MBean server releases the tree.
+	 * 
+	 * @param name The name of the dictionary
+	 * @throws JMException If no MXBean is registered under this name
+	 */
+	public void unregisterMBean(String name) throws JMException {
+		ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName(name));
+	}
+
+	/**
+	 * Compiles the current content of the tree into a read-only, array-backed
+	 * form. Words inserted afterwards are not visible in the compiled tree.
+	 * 
+	 * @return The compiled tree
+	 */
+	public CompiledLexicographicTree freeze() {
+		return CompiledLexicographicTree.compile(root);
 	}
 
 	/*
 	 * PRIVATE METHODS
 	 */
 
-	private int sizeRecursive(Node node) {
-		if (node == null) {
-			return 0;
+	static Node findChild(Node node, char c) {
+		if (node instanceof WideNode) {
+			int i = c - TABLE_FIRST;
+			if (i >= 0 && i < TABLE_SIZE) {
+				return ((WideNode) node).table[i];
+			}
 		}
-
-		int size = node.isEndOfWord ? 1 : 0;
-
 		for (Node child = node.child; child != null; child = child.sibling) {
-			size += sizeRecursive(child);
+			if (child.value == c) {
+				return child;
+			} else if (child.value > c) {
+				break;
+			}
 		}
-
-		return size;
+		return null;
 	}
 
-	private void insertWordRecursive(Node node, String word) {
-		if (word.isEmpty()) {
-			node.isEndOfWord = true;
-			return;
-		}
-		char c = word.charAt(0);
-		String remainingWord = word.substring(1);
-
+	/**
+	 * Links a new child into the sorted sibling list of a node.
+	 */
+	private Node insertChild(Node node, char c) {
 		Node child = node.child;
 		Node previousChild = null;
 		while (child != null && child.value < c) {
@@ -170,56 +1232,318 @@ public class LexicographicTree {
 			child = child.sibling;
 		}
 
-		if (child != null && child.value == c) {
-			insertWordRecursive(child, remainingWord);
+		Node newNode = allocate(c);
+		newNode.sibling = child;
+		if (previousChild != null) {
+			previousChild.sibling = newNode;
 		} else {
-			Node newNode = new Node(c);
-			newNode.sibling = child;
+			node.child = newNode;
+		}
+		return newNode;
+	}
 
-			if (previousChild != null) {
-				previousChild.sibling = newNode;
+	/**
+	 * Updates the layout of a node after a child was linked into its sibling
+	 * list: the child is indexed if the node is wide, otherwise the node is
+	 * replaced by a wide copy if its fan-out is large enough.
+	 * 
+	 * @param parent The parent of the node, or null for the root
+	 * @return The node, or its wide copy
+	 */
+	private Node childAdded(Node parent, Node node, Node child) {
+		if (node instanceof WideNode) {
+			((WideNode) node).index(child);
+			return node;
+		}
+		int fanOut = 0;
+		for (Node c = node.child; c != null && fanOut < WIDE_FAN_OUT; c = c.sibling) {
+			fanOut++;
+		}
+		if (fanOut < WIDE_FAN_OUT) {
+			return node;
+		}
+
+		WideNode wide = new WideNode(node);
+		if (parent == null) {
+			root = wide;
+		} else {
+			if (parent.child == node) {
+				parent.child = wide;
 			} else {
-				node.child = newNode;
+				Node previousChild = parent.child;
+				while (previousChild.sibling != node) {
+					previousChild = previousChild.sibling;
+				}
+				previousChild.sibling = wide;
+			}
+			if (parent instanceof WideNode) {
+				((WideNode) parent).index(wide);
+			}
+		}
+		return wide;
+	}
+
+	/**
+	 * Creates a node above a sibling list, wide if the list is long enough.
+	 */
+	static Node newNode(char value, Node children) {
+		int fanOut = 0;
+		for (Node c = children; c != null && fanOut < WIDE_FAN_OUT; c = c.sibling) {
+			fanOut++;
+		}
+		Node node = fanOut < WIDE_FAN_OUT ? new Node(value) : new WideNode(value);
+		node.child = children;
+		for (Node c = children; node instanceof WideNode && c != null; c = c.sibling) {
+			((WideNode) node).index(c);
+		}
+		return node;
+	}
+
+	private BloomFilter buildNegativeFilter(double falsePositiveRate) {
+		BloomFilter filter = new BloomFilter(Math.max(size(), 1024), falsePositiveRate);
+		streamWords("").forEach(filter::add);
+		return filter;
+	}
+
+	/**
+	 * Looks up the words order[from..to[ of a batch, which all start with the
+	 * 'depth' characters leading to a node.
+	 */
+	private static void lookupBatch(Node node, int depth, CharSequence[] batch, int[] order, int from, int to,
+			BitSet found) {
+		// Words ending at this node
+		int start = from;
+		for (int i = from; i < to; i++) {
+			if (batch[order[i]].length() == depth) {
+				if (node.isEndOfWord) {
+					found.set(order[i]);
+				}
+				swap(order, i, start++);
+			}
+		}
+		lookupChildren(node, depth, batch, order, start, to, found);
+	}
+
+	/**
+	 * Looks up the words order[from..to[ of a batch, which all start with the
+	 * 'depth' characters leading to a node and are longer than 'depth'.
+	 */
+	private static void lookupChildren(Node node, int depth, CharSequence[] batch, int[] order, int from, int to,
+			BitSet found) {
+		while (to - from > SMALL_BATCH) {
+			// Three-way partition of the words on their next character
+			char pivot = batch[order[from + (to - from) / 2]].charAt(depth);
+			int lower = from;
+			int greater = to;
+			for (int i = from; i < greater;) {
+				char c = batch[order[i]].charAt(depth);
+				if (c < pivot) {
+					swap(order, i++, lower++);
+				} else if (c > pivot) {
+					swap(order, i, --greater);
+				} else {
+					i++;
+				}
+			}
+			Node child = findChild(node, pivot);
+			if (child != null) {
+				lookupBatch(child, depth + 1, batch, order, lower, greater, found);
+			}
+			lookupChildren(node, depth, batch, order, from, lower, found);
+			from = greater;
+		}
+
+		// Too few words left to share much: walk down for each one
+		for (int k = from; k < to; k++) {
+			CharSequence word = batch[order[k]];
+			Node child = node;
+			for (int i = depth; i < word.length() && child != null; i++) {
+				child = findChild(child, word.charAt(i));
 			}
+			if (child != null && child.isEndOfWord) {
+				found.set(order[k]);
+			}
+		}
+	}
+
+	private static void swap(int[] array, int i, int j) {
+		int value = array[i];
+		array[i] = array[j];
+		array[j] = value;
+	}
+
+	private static ObjectName mbeanName(String name) throws MalformedObjectNameException {
+		return new ObjectName("tree:type=LexicographicTree,name=" + ObjectName.quote(name));
+	}
 
-			insertWordRecursive(newNode, remainingWord);
+	/**
+	 * Counts a lookup that went through the negative filter, if any.
+	 */
+	private boolean filtered(boolean found) {
+		if (negativeFilter != null) {
+			filterPasses.increment();
+			if (!found) {
+				filterFalsePositives.increment();
+			}
 		}
+		return found;
 	}
 
-	private boolean containsWordRecursive(Node node, String word) {
-		if (word.isEmpty()) {
-			return node.isEndOfWord;
+	/**
+	 * Returns a node from the free list, or a new node.
+	 */
+	Node allocate(char value) {
+		Node node = freeNodes;
+		if (node == null) {
+			return new Node(value);
 		}
+		freeNodes = node.sibling;
+		freeNodeCount--;
+		node.sibling = null;
+		node.value = value;
+		return node;
+	}
 
-		char c = word.charAt(0);
-		String remainingWord = word.substring(1);
+	/**
+	 * Clears a removed node and adds it to the free list if it is not full.
+	 * Wide nodes are not reused.
+	 */
+	private void recycle(Node node) {
+		if (freeNodeCount < MAX_FREE_NODES && !(node instanceof WideNode)) {
+			node.isEndOfWord = false;
+			node.child = null;
+			node.wordCount = 0;
+			node.lengthMask = 0;
+			node.weight = 0;
+			node.maxWeight = 0;
+			node.sibling = freeNodes;
+			freeNodes = node;
+			freeNodeCount++;
+		}
+	}
 
+	/**
+	 * Recycles all the nodes below a node, until the free list is full.
+	 */
+	private void recycleChildren(Node node) {
+		Deque<Node> stack = new ArrayDeque<>();
 		for (Node child = node.child; child != null; child = child.sibling) {
-			if (child.value == c) {
-				return containsWordRecursive(child, remainingWord);
-			} else if (child.value > c) {
-				break;
+			stack.push(child);
+		}
+		while (!stack.isEmpty() && freeNodeCount < MAX_FREE_NODES) {
+			Node removed = stack.pop();
+			for (Node child = removed.child; child != null; child = child.sibling) {
+				stack.push(child);
 			}
+			recycle(removed);
 		}
-		return false;
 	}
 
-	private boolean containsPrefixRecursive(Node node, String prefix) {
-		if (prefix.isEmpty()) {
-			return true;
+	int freeNodeCount() {
+		return freeNodeCount;
+	}
+
+	/**
+	 * Returns the nodes from the root to the node of a prefix, or null if no
+	 * word starts with the prefix.
+	 */
+	private Node[] findPath(CharSequence prefix) {
+		Node[] path = new Node[prefix.length() + 1];
+		path[0] = root;
+		for (int i = 0; i < prefix.length(); i++) {
+			path[i + 1] = findChild(path[i], prefix.charAt(i));
+			if (path[i + 1] == null) {
+				return null;
+			}
 		}
+		return path;
+	}
 
-		char c = prefix.charAt(0);
-		String remainingPrefix = prefix.substring(1);
+	/**
+	 * Updates the nodes of a path after 'count' words were removed at or below
+	 * its last node. The nodes left without any word are unlinked from their
+	 * parent and recycled along with their subtree.
+	 */
+	private void removeFromPath(Node[] path, int count) {
+		for (int depth = path.length - 1; depth >= 0; depth--) {
+			Node node = path[depth];
+			node.wordCount -= count;
+			if (node.wordCount == 0 && depth > 0) {
+				unlinkChild(path[depth - 1], node);
+				recycleChildren(node);
+				recycle(node);
+			} else {
+				node.lengthMask = node.isEndOfWord ? lengthBit(0) : 0;
+				node.maxWeight = node.isEndOfWord ? node.weight : 0;
+				for (Node child = node.child; child != null; child = child.sibling) {
+					node.lengthMask |= shiftLengthMask(child.lengthMask);
+					node.maxWeight = Math.max(node.maxWeight, child.maxWeight);
+				}
+			}
+		}
+		clearCache();
+	}
 
+	/**
+	 * Recomputes the largest weight below a node from its children.
+	 * 
+	 * @return True if it changed, in which case the parent must be updated too
+	 */
+	private static boolean updateMaxWeight(Node node) {
+		int maxWeight = node.isEndOfWord ? node.weight : 0;
 		for (Node child = node.child; child != null; child = child.sibling) {
-			if (child.value == c) {
-				return containsPrefixRecursive(child, remainingPrefix);
-			} else if (child.value > c) {
-				break;
+			maxWeight = Math.max(maxWeight, child.maxWeight);
+		}
+		boolean changed = maxWeight != node.maxWeight;
+		node.maxWeight = maxWeight;
+		return changed;
+	}
+
+	private static String reverse(String word) {
+		return new StringBuilder(word).reverse().toString();
+	}
+
+	/**
+	 * Lowercases a text and removes its accents: "Élève" becomes "eleve".
+	 */
+	static String normalize(String text) {
+		String decomposed = Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD);
+		return MARKS.matcher(decomposed).replaceAll("").replace('\u2019', '\'').replace("\u0153", "oe")
+				.replace("\u00e6", "ae");
+	}
+
+	private static void unlinkChild(Node node, Node child) {
+		if (node.child == child) {
+			node.child = child.sibling;
+		} else {
+			Node previousChild = node.child;
+			while (previousChild.sibling != child) {
+				previousChild = previousChild.sibling;
+			}
+			previousChild.sibling = child.sibling;
+		}
+		if (node instanceof WideNode) {
+			int i = child.value - TABLE_FIRST;
+			if (i >= 0 && i < TABLE_SIZE) {
+				((WideNode) node).table[i] = null;
 			}
 		}
-		return false;
+	}
+
+	private Node findNode(CharSequence prefix) {
+		Node node = root;
+		for (int i = 0; i < prefix.length() && node != null; i++) {
+			node = findChild(node, prefix.charAt(i));
+		}
+		return node;
+	}
+
+	private Node findNode(char[] prefix, int offset, int length) {
+		Node node = root;
+		for (int i = offset; i < offset + length && node != null; i++) {
+			node = findChild(node, prefix[i]);
+		}
+		return node;
 	}
 
 	private void getWordsRecursive(Node node, String prefix, List<String> words) {
@@ -236,37 +1560,82 @@ public class LexicographicTree {
 		}
 	}
 
-	private Node findPrefixNode(Node node, String prefix) {
-		if (prefix.isEmpty()) {
-			return node;
+	private void getWordsOfLengthRecursive(Node node, char[] word, int depth, List<String> words) {
+		if (depth == word.length) {
+			words.add(new String(word));
+			return;
 		}
-
-		char firstChar = prefix.charAt(0);
-		String remainingPrefix = prefix.substring(1);
-
+		int remaining = word.length - depth - 1;
 		for (Node child = node.child; child != null; child = child.sibling) {
-			if (child.value == firstChar) {
-				return findPrefixNode(child, remainingPrefix);
-			} else if (child.value > firstChar) {
-				break;
+			if (hasWordAtDistance(child, remaining)) {
+				word[depth] = child.value;
+				getWordsOfLengthRecursive(child, word, depth + 1, words);
 			}
 		}
-
-		return null;
 	}
 
-	private void getWordsOfLengthRecursive(Node node, String prefix, int length, List<String> words) {
-		if (node == null) {
-			return;
+	private Spliterator<String> wordSpliterator(String prefix, int length) {
+		if (prefix == null || prefix.trim().isEmpty()) {
+			return new WordSpliterator(root, "", length);
 		}
+		return new WordSpliterator(findNode(prefix), prefix, length);
+	}
 
-		if (length == 0 && node.isEndOfWord) {
-			words.add(prefix);
-		} else if (length > 0) {
-			for (Node child = node.child; child != null; child = child.sibling) {
-				getWordsOfLengthRecursive(child, prefix + child.value, length - 1, words);
+	/**
+	 * Replaces the children of the root by a list of subtrees with distinct
+	 * first characters.
+	 */
+	void setChildren(List<Node> children) {
+		children.sort((a, b) -> Character.compare(a.value, b.value));
+		Node first = null;
+		Node previousChild = null;
+		for (Node child : children) {
+			child.sibling = null;
+			if (previousChild == null) {
+				first = child;
+			} else {
+				previousChild.sibling = child;
 			}
+			previousChild = child;
+		}
+		root = newNode('\0', first);
+		for (Node child : children) {
+			root.wordCount += child.wordCount;
+			root.lengthMask |= shiftLengthMask(child.lengthMask);
+			root.maxWeight = Math.max(root.maxWeight, child.maxWeight);
+		}
+		clearCache();
+	}
+
+	/**
+	 * Returns the length mask of a node as seen from its parent.
+	 */
+	static int shiftLengthMask(int mask) {
+		return (mask << 1) | (mask & lengthBit(MAX_TRACKED_LENGTH));
+	}
+
+	static int lengthBit(int distance) {
+		return 1 << Math.min(distance, MAX_TRACKED_LENGTH);
+	}
+
+	/**
+	 * Returns the length mask of the words ending between 'low' and 'high'
+	 * characters below a node, both included.
+	 */
+	static int lengthRange(int low, int high) {
+		if (high < low) {
+			return 0;
 		}
+		int mask = high >= MAX_TRACKED_LENGTH ? -1 : (lengthBit(high) << 1) - 1;
+		return mask & -lengthBit(low);
+	}
+
+	/**
+	 * Determines if a word may end 'distance' characters below a node. The
+	 * answer is exact up to {@code MAX_TRACKED_LENGTH - 1}.
+	 */
+	static boolean hasWordAtDistance(Node node, int distance) {
+		return (node.lengthMask & lengthBit(distance)) != 0;
 	}
 
 	/*
@@ -296,6 +1665,7 @@ public class LexicographicTree {
 		}
 		System.out.println("Load time : " + (System.currentTimeMillis() - startTime) / 1000.0);
 		System.out.println("Number of words : " + dico.size());
+		System.out.println(dico.stats());
 		System.out.println();
 
 		// Search existing words in dictionary
@@ -360,6 +1730,173 @@ public class LexicographicTree {
 		System.out.println();
 	}
 
+	private static void testFuzzySearchPerformance(String filename) {
+		LexicographicTree dico = new LexicographicTree(filename);
+		Random random = new Random(42);
+		int queryCount = 200;
+		String[] queries = new String[queryCount];
+		for (int i = 0; i < queryCount; i++) {
+			// Misspell a random word by replacing one of its characters
+			char[] word = dico.randomWord(random).toCharArray();
+			word[random.nextInt(word.length)] = (char) ('a' + random.nextInt(26));
+			queries[i] = new String(word);
+		}
+
+		for (int k = 1; k <= 3; k++) {
+			long startTime = System.currentTimeMillis();
+			System.out.println("Searching words within distance " + k + "...");
+			long total = 0;
+			for (String query : queries) {
+				total += dico.getWordsWithinDistance(query, k).size();
+			}
+			System.out.println("Search time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+			System.out.println("Average number of words : " + (double) total / queryCount);
+
+			startTime = System.currentTimeMillis();
+			for (String query : queries) {
+				dico.getClosestWords(query, k, 10);
+			}
+			System.out.println("Search time (10 closest) : " + (System.currentTimeMillis() - startTime) / 1000.0);
+			System.out.println();
+		}
+	}
+
+	private static void testNegativeFilterPerformance(String filename) {
+		LexicographicTree dico = new LexicographicTree(filename);
+		List<String> words = dico.getWords("");
+		List<String> missingWords = new ArrayList<>(words.size());
+		for (String word : words) {
+			missingWords.add(word + "xx");
+		}
+		int repeatCount = 20;
+
+		for (double falsePositiveRate : new double[] { 0, 0.1, 0.01, 0.001 }) {
+			if (falsePositiveRate == 0) {
+				System.out.println("Searching non-existing words without filter...");
+				dico.disableNegativeFilter();
+			} else {
+				System.out.println("Searching non-existing words with a " + falsePositiveRate + " filter...");
+				dico.enableNegativeFilter(falsePositiveRate);
+			}
+			long startTime = System.currentTimeMillis();
+			for (int i = 0; i < repeatCount; i++) {
+				for (String word : missingWords) {
+					dico.containsWord(word);
+				}
+			}
+			System.out.println("Search time : " + (System.currentTimeMillis() - startTime) / 1000.0);
+			startTime = System.currentTimeMillis();
+			for (int i = 0; i < repeatCount; i++) {
+				for (String word : words) {
+					dico.containsWord(word);
+				}
+			}
+			System.out.println("Search time (existing words) : " + (System.currentTimeMillis() - startTime) / 1000.0);
+			System.out.println(dico.negativeFilterStatistics());
+			System.out.println();
+		}
+	}
+
+	private static void testChurnPerformance(String filename) {
+		final int MB = 1024 * 1024;
+		LexicographicTree dico = new LexicographicTree(filename);
+		List<String> words = dico.getWords("");
+		Random random = new Random(42);
+		int batchSize = 20000;
+
+		System.out.println("Removing and inserting words...");
+		for (int round = 1; round <= 20; round++) {
+			long startTime = System.currentTimeMillis();
+			// Retire a random batch of words, then bring them back
+			List<String> batch = new ArrayList<>(batchSize);
+			for (int i = 0; i < batchSize; i++) {
+				String word = words.get(random.nextInt(words.size()));
+				if (dico.removeWord(word)) {
+					batch.add(word);
+				}
+			}
+			if (round % 4 == 0) {
+				batch.addAll(dico.getWords("re"));
+				dico.removePrefix("re");
+			}
+			for (String word : batch) {
+				dico.insertWord(word);
+			}
+			System.gc();
+			Runtime runtime = Runtime.getRuntime();
+			System.out.printf("Round %d : %d words, %.3f s, %d free nodes, %d MB used\n", round, dico.size(),
+					(System.currentTimeMillis() - startTime) / 1000.0, dico.freeNodeCount(),
+					(runtime.totalMemory() - runtime.freeMemory()) / MB);
+		}
+		System.out.println();
+	}
+
+	private static void testAutocompletePerformance(String filename, String corpus) {
+		LexicographicTree dico = new LexicographicTree(filename);
+		System.out.println("Weighted words : " + dico.loadWeightsFromCorpus(corpus));
+		String[] prefixes = { "", "a", "e", "de", "pre", "con" };
+		for (String prefix : prefixes) {
+			System.out.println("'" + prefix + "' -> " + dico.topK(prefix, 8));
+		}
+
+		int repeatCount = 2000;
+		for (int k : new int[] { 10, 100 }) {
+			long startTime = System.nanoTime();
+			for (int i = 0; i < repeatCount; i++) {
+				for (String prefix : prefixes) {
+					dico.topK(prefix, k);
+				}
+			}
+			System.out.printf("Top-%d : %.1f us per query%n", k,
+					(System.nanoTime() - startTime) / 1000.0 / (repeatCount * prefixes.length));
+		}
+		System.out.println();
+	}
+
+	private static void testAnagramPerformance(String filename) {
+		LexicographicTree dico = new LexicographicTree(filename);
+		Random random = new Random(7);
+		String[] racks = new String[10000];
+		for (int i = 0; i < racks.length; i++) {
+			char[] rack = new char[7];
+			for (int j = 0; j < rack.length; j++) {
+				rack[j] = "eeeeaaaiiinnrrssttuuolcdmp".charAt(random.nextInt(26));
+			}
+			racks[i] = new String(rack);
+		}
+		System.out.println(racks[0] + " -> " + dico.wordsFromLetters(racks[0], 5).collect(Collectors.toList()));
+
+		long startTime = System.currentTimeMillis();
+		long total = 0;
+		for (String rack : racks) {
+			total += dico.wordsFromLetters(rack, 2).count();
+		}
+		long time = System.currentTimeMillis() - startTime;
+		System.out.printf("Sub-anagrams of %d racks : %d words in %.3f s (%.0f racks/s)%n", racks.length, total,
+				time / 1000.0, racks.length * 1000.0 / Math.max(time, 1));
+		System.out.println();
+	}
+
+	private static void testSuffixQueryPerformance(String filename) {
+		LexicographicTree dico = new LexicographicTree(filename);
+		String[] suffixes = { "tion", "ment", "eux", "age", "isme", "oir" };
+		int repeatCount = 20;
+		for (int pass = 0; pass < 2; pass++) {
+			long startTime = System.currentTimeMillis();
+			int total = 0;
+			for (int i = 0; i < repeatCount; i++) {
+				for (String suffix : suffixes) {
+					total += dico.getWordsWithSuffix(suffix).size();
+				}
+			}
+			System.out.printf("Suffix queries %s index : %d words in %.3f s%n", pass == 0 ? "without" : "with",
+					total, (System.currentTimeMillis() - startTime) / 1000.0);
+			dico.enableSuffixIndex();
+		}
+		System.out.println("re*ment -> " + dico.getWordsMatching("re", "ment").size() + " words");
+		System.out.println();
+	}
+
 	private static void testDictionarySize() {
 		final int MB = 1024 * 1024;
 		System.out.print(Runtime.getRuntime().totalMemory() / MB + " / ");
@@ -384,6 +1921,24 @@ public class LexicographicTree {
 		// CTT : test de performance insertion/recherche
 		testDictionaryPerformance("mots/dictionnaire_FR_sans_accents.txt");
 
+		// Recherche approchée pour des distances d'édition de 1 à 3
+		testFuzzySearchPerformance("mots/dictionnaire_FR_sans_accents.txt");
+
+		// Recherche de mots absents avec et sans filtre de Bloom
+		testNegativeFilterPerformance("mots/dictionnaire_FR_sans_accents.txt");
+
+		// Suppressions et réinsertions répétées : la mémoire doit rester stable
+		testChurnPerformance("mots/dictionnaire_FR_sans_accents.txt");
+
+		// Complétion pondérée par les fréquences du roman
+		testAutocompletePerformance("mots/dictionnaire_FR_sans_accents.txt", "txt/Plus fort que Sherlock Holmes.txt");
+
+		// Mots formés à partir de tirages de Scrabble de 7 lettres
+		testAnagramPerformance("mots/dictionnaire_FR_sans_accents.txt");
+
+		// Recherche par suffixe avec et sans index inversé
+		testSuffixQueryPerformance("mots/dictionnaire_FR_sans_accents.txt");
+
 		// CST : test de taille maximale si VM -Xms2048m -Xmx2048m
 		testDictionarySize();
 	}
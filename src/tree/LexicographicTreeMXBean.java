@@ -0,0 +1,24 @@
+package tree;
+
+/**
+ * Management interface of a lexicographic tree, registered with
+ * {@link LexicographicTree#registerMBean(String)}. The attributes come from a
+ * {@link TreeStatistics} snapshot, refreshed at most once per second.
+ */
+public interface LexicographicTreeMXBean {
+	int getNodeCount();
+
+	int getWordCount();
+
+	int getWideNodeCount();
+
+	int[] getFanOutHistogram();
+
+	int[] getDepthHistogram();
+
+	double getSharedPrefixRatio();
+
+	long getEstimatedBytes();
+
+	double getEstimatedBytesPerWord();
+}
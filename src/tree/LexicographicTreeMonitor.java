@@ -0,0 +1,68 @@
+package tree;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the management interface of a lexicographic tree.
+ *
+ * A JMX client usually reads all the attributes at once, so the statistics
+ * are computed once and reused for the following reads of the same second.
+ * The tree is not locked: statistics read while the tree is modified may be
+ * slightly inconsistent.
+ */
+final class LexicographicTreeMonitor implements LexicographicTreeMXBean {
+	private static final long REFRESH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+	private final LexicographicTree tree;
+	private TreeStatistics statistics;
+	private long statisticsTime;
+
+	LexicographicTreeMonitor(LexicographicTree tree) {
+		this.tree = tree;
+	}
+
+	public int getNodeCount() {
+		return statistics().getNodeCount();
+	}
+
+	public int getWordCount() {
+		return statistics().getWordCount();
+	}
+
+	public int getWideNodeCount() {
+		return statistics().getWideNodeCount();
+	}
+
+	public int[] getFanOutHistogram() {
+		return statistics().getFanOutHistogram();
+	}
+
+	public int[] getDepthHistogram() {
+		return statistics().getDepthHistogram();
+	}
+
+	public double getSharedPrefixRatio() {
+		return statistics().getSharedPrefixRatio();
+	}
+
+	public long getEstimatedBytes() {
+		return statistics().getEstimatedBytes();
+	}
+
+	public double getEstimatedBytesPerWord() {
+		return statistics().getEstimatedBytesPerWord();
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private synchronized TreeStatistics statistics() {
+		long now = System.nanoTime();
+		if (statistics == null || now - statisticsTime >= REFRESH_INTERVAL) {
+			statistics = tree.stats();
+			statisticsTime = now;
+		}
+		return statistics;
+	}
+}
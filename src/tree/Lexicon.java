@@ -0,0 +1,73 @@
+package tree;
+
+import java.util.List;
+
+/**
+ * Read-only view of a set of words, shared by the different dictionary
+ * representations (pointer-based tree, compiled arrays, ...).
+ */
+public interface Lexicon {
+
+	/**
+	 * Returns the number of words present in the dictionary.
+	 *
+	 * @return The number of words present in the dictionary
+	 */
+	int size();
+
+	/**
+	 * Determines if a word is present in the dictionary.
+	 *
+	 * @param word A word
+	 * @return True if the word is present, false otherwise
+	 */
+	boolean containsWord(CharSequence word);
+
+	/**
+	 * Determines if a word, given as a slice of a char array, is present in the
+	 * dictionary.
+	 *
+	 * @param word   A buffer containing the word
+	 * @param offset Index of the first character of the word
+	 * @param length Length of the word
+	 * @return True if the word is present, false otherwise
+	 */
+	boolean containsWord(char[] word, int offset, int length);
+
+	/**
+	 * Determines if a prefix is present in the dictionary.
+	 *
+	 * @param prefix A prefix
+	 * @return True if the prefix is present, false otherwise
+	 */
+	boolean containsPrefix(CharSequence prefix);
+
+	/**
+	 * Determines if a prefix, given as a slice of a char array, is present in the
+	 * dictionary.
+	 *
+	 * @param prefix A buffer containing the prefix
+	 * @param offset Index of the first character of the prefix
+	 * @param length Length of the prefix
+	 * @return True if the prefix is present, false otherwise
+	 */
+	boolean containsPrefix(char[] prefix, int offset, int length);
+
+	/**
+	 * Returns an alphabetic list of all words starting with the supplied prefix.
+	 * If 'prefix' is an empty string, all words are returned.
+	 *
+	 * @param prefix Expected prefix
+	 * @return The list of words starting with the supplied prefix
+	 */
+	List<String> getWords(String prefix);
+
+	/**
+	 * Returns an alphabetic list of all words of a given length.
+	 * If 'length' is lower than or equal to zero, an empty list is returned.
+	 *
+	 * @param length Expected word length
+	 * @return The list of words with the given length
+	 */
+	List<String> getWordsOfLength(int length);
+}
@@ -0,0 +1,262 @@
+package tree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only dictionary backed by a memory-mapped binary snapshot.
+ *
+ * A snapshot is the binary image of a {@link CompiledLexicographicTree}: a
+ * fixed header followed by the label, first-child, sibling and end-of-word
+ * arrays. Opening a snapshot maps the file and runs the lookups directly over
+ * the mapped bytes, nothing is parsed nor copied on the heap.
+ *
+ * <pre>
+ * header  : magic (int) | version (int) | nodes (int) | words (int) | CRC32 of the payload (long)
+ * payload : labels (char[nodes], padded to 4 bytes) | first children (int[nodes])
+ *           | siblings (int[nodes], padded to 8 bytes) | end-of-word bits (long[(nodes + 63) / 64])
+ * </pre>
+ */
+public class MappedLexicographicTree extends AbstractLexicon {
+	static final int MAGIC = 0x4C455854; // "LEXT"
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 24;
+	private static final int NONE = CompiledLexicographicTree.NONE;
+
+	private final ByteBuffer buffer;
+	private final int nodeCount;
+	private final int wordCount;
+	private final int labelsOffset;
+	private final int firstChildOffset;
+	private final int siblingOffset;
+	private final int endOfWordOffset;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	private MappedLexicographicTree(ByteBuffer buffer, int nodeCount, int wordCount) {
+		this.buffer = buffer;
+		this.nodeCount = nodeCount;
+		this.wordCount = wordCount;
+		this.labelsOffset = HEADER_SIZE;
+		this.firstChildOffset = labelsOffset + align(2 * nodeCount, 4);
+		this.siblingOffset = firstChildOffset + 4 * nodeCount;
+		this.endOfWordOffset = HEADER_SIZE + endOfWordOffset(nodeCount);
+	}
+
+	/**
+	 * Writes the binary snapshot of a compiled tree.
+	 *
+	 * @param tree     A compiled tree
+	 * @param filename The snapshot file, overwritten if it exists
+	 * @throws IOException If the file cannot be written
+	 */
+	public static void write(CompiledLexicographicTree tree, String filename) throws IOException {
+		int nodeCount = tree.nodeCount();
+		int payloadSize = payloadSize(nodeCount);
+		ByteBuffer payload = ByteBuffer.allocate(payloadSize).order(ByteOrder.LITTLE_ENDIAN);
+		for (int i = 0; i < nodeCount; i++) {
+			payload.putChar(tree.labels[i]);
+		}
+		payload.position(align(2 * nodeCount, 4));
+		for (int i = 0; i < nodeCount; i++) {
+			payload.putInt(tree.firstChild[i]);
+		}
+		for (int i = 0; i < nodeCount; i++) {
+			payload.putInt(tree.sibling[i]);
+		}
+		payload.position(endOfWordOffset(nodeCount));
+		for (long bits : tree.endOfWord) {
+			payload.putLong(bits);
+		}
+		payload.flip();
+
+		CRC32 crc = new CRC32();
+		crc.update(payload.duplicate());
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(MAGIC).putInt(VERSION).putInt(nodeCount).putInt(tree.size()).putLong(crc.getValue());
+		header.flip();
+
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			while (payload.hasRemaining()) {
+				channel.write(payload);
+			}
+		}
+	}
+
+	/**
+	 * Opens a binary snapshot and verifies its checksum.
+	 *
+	 * @param filename A snapshot file written by {@link #write}
+	 * @return The mapped dictionary
+	 * @throws IOException If the file cannot be read or is not a valid snapshot
+	 */
+	public static MappedLexicographicTree open(String filename) throws IOException {
+		return open(filename, true);
+	}
+
+	/**
+	 * Opens a binary snapshot. Skipping the checksum makes opening independent
+	 * of the dictionary size.
+	 *
+	 * @param filename       A snapshot file written by {@link #write}
+	 * @param verifyChecksum True to check the payload against the stored CRC32
+	 * @return The mapped dictionary
+	 * @throws IOException If the file cannot be read or is not a valid snapshot
+	 */
+	public static MappedLexicographicTree open(String filename, boolean verifyChecksum) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Invalid snapshot size: " + filename);
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+		if (buffer.getInt(0) != MAGIC) {
+			throw new IOException("Not a dictionary snapshot: " + filename);
+		}
+		if (buffer.getInt(4) != VERSION) {
+			throw new IOException("Unsupported snapshot version " + buffer.getInt(4) + ": " + filename);
+		}
+		int nodeCount = buffer.getInt(8);
+		int wordCount = buffer.getInt(12);
+		if (nodeCount < 1 || buffer.capacity() != HEADER_SIZE + payloadSize(nodeCount)) {
+			throw new IOException("Truncated snapshot: " + filename);
+		}
+		if (verifyChecksum) {
+			CRC32 crc = new CRC32();
+			crc.update(buffer.duplicate().position(HEADER_SIZE));
+			if (crc.getValue() != buffer.getLong(16)) {
+				throw new IOException("Corrupted snapshot (checksum mismatch): " + filename);
+			}
+		}
+		return new MappedLexicographicTree(buffer, nodeCount, wordCount);
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Returns the number of nodes of the mapped tree, root included.
+	 *
+	 * @return The number of nodes
+	 */
+	public int nodeCount() {
+		return nodeCount;
+	}
+
+	public int size() {
+		return wordCount;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static int align(int size, int alignment) {
+		return (size + alignment - 1) / alignment * alignment;
+	}
+
+	private static int endOfWordOffset(int nodeCount) {
+		return align(align(2 * nodeCount, 4) + 8 * nodeCount, 8);
+	}
+
+	private static int payloadSize(int nodeCount) {
+		return endOfWordOffset(nodeCount) + 8 * ((nodeCount + 63) >>> 6);
+	}
+
+	private char label(int node) {
+		return buffer.getChar(labelsOffset + 2 * node);
+	}
+
+	private int firstChild(int node) {
+		return buffer.getInt(firstChildOffset + 4 * node);
+	}
+
+	private int sibling(int node) {
+		return buffer.getInt(siblingOffset + 4 * node);
+	}
+
+	private boolean isEndOfWord(int node) {
+		return (buffer.getLong(endOfWordOffset + 8 * (node >>> 6)) & (1L << node)) != 0;
+	}
+
+	private int findChild(int node, char c) {
+		for (int child = firstChild(node); child != NONE; child = sibling(child)) {
+			char label = label(child);
+			if (label == c) {
+				return child;
+			} else if (label > c) {
+				break;
+			}
+		}
+		return NONE;
+	}
+
+	int match(CharSequence prefix) {
+		int node = findNode(prefix);
+		return node == NONE ? ABSENT : isEndOfWord(node) ? WORD : PREFIX;
+	}
+
+	int match(char[] prefix, int offset, int length) {
+		int node = findNode(prefix, offset, length);
+		return node == NONE ? ABSENT : isEndOfWord(node) ? WORD : PREFIX;
+	}
+
+	void collectWords(String prefix, int length, List<String> words) {
+		int node = findNode(prefix);
+		if (node != NONE) {
+			getWordsRecursive(node, new StringBuilder(prefix), length, words);
+		}
+	}
+
+	private int findNode(CharSequence prefix) {
+		int node = 0;
+		for (int i = 0; i < prefix.length() && node != NONE; i++) {
+			node = findChild(node, prefix.charAt(i));
+		}
+		return node;
+	}
+
+	private int findNode(char[] prefix, int offset, int length) {
+		int node = 0;
+		for (int i = offset; i < offset + length && node != NONE; i++) {
+			node = findChild(node, prefix[i]);
+		}
+		return node;
+	}
+
+	/**
+	 * Lists the words below a node, or only those ending 'length' characters
+	 * below the root if 'length' is not negative.
+	 */
+	private void getWordsRecursive(int node, StringBuilder prefix, int length, List<String> words) {
+		if (isEndOfWord(node) && (length < 0 || prefix.length() == length)) {
+			words.add(prefix.toString());
+		}
+		if (length >= 0 && prefix.length() >= length) {
+			return;
+		}
+		for (int child = firstChild(node); child != NONE; child = sibling(child)) {
+			prefix.append(label(child));
+			getWordsRecursive(child, prefix, length, words);
+			prefix.setLength(prefix.length() - 1);
+		}
+	}
+}
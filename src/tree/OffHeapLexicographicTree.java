@@ -0,0 +1,323 @@
+package tree;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lexicographic tree stored outside of the Java heap.
+ *
+ * Nodes are fixed-size records in direct byte buffers, allocated page by page
+ * as the tree grows, so the heap only holds the page table: the size of the
+ * dictionary is bounded by {@code -XX:MaxDirectMemorySize} instead of
+ * {@code -Xmx}, and the garbage collector has no node graph to trace. Each
+ * record holds the first child, the next sibling, the length mask, the
+ * character and the end-of-word flag of a node; sibling lists are sorted as
+ * in {@link LexicographicTree}. Pages are released when the tree becomes
+ * unreachable.
+ *
+ * <pre>
+ * record : first child (int) | sibling (int) | length mask (int) | value (char) | flags (short)
+ * </pre>
+ */
+public class OffHeapLexicographicTree extends AbstractLexicon {
+	static final int NODE_SIZE = 16;
+	private static final int PAGE_SHIFT = 16;
+	private static final int NODES_PER_PAGE = 1 << PAGE_SHIFT;
+	private static final int PAGE_MASK = NODES_PER_PAGE - 1;
+	private static final int CHILD = 0;
+	private static final int SIBLING = 4;
+	private static final int LENGTH_MASK = 8;
+	private static final int VALUE = 12;
+	private static final int FLAGS = 14;
+	private static final short END_OF_WORD = 1;
+	private static final int ROOT = 0;
+	private static final int NONE = 0; // the root is never a child nor a sibling
+
+	private ByteBuffer[] pages = new ByteBuffer[16];
+	private int nodeCount;
+	private int wordCount;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : creates an empty off-heap lexicographic tree.
+	 */
+	public OffHeapLexicographicTree() {
+		allocate('\0');
+	}
+
+	/**
+	 * Constructor : creates an off-heap lexicographic tree populated with words
+	 *
+	 * @param filename A text file containing the words to be inserted in the tree
+	 */
+	public OffHeapLexicographicTree(String filename) {
+		this();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				insert(line.trim());
+			}
+		} catch (IOException e) {
+			System.err.println("Error while reading the file: " + e.getMessage());
+		}
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	public int size() {
+		return wordCount;
+	}
+
+	/**
+	 * Returns the number of nodes of the tree, root included.
+	 *
+	 * @return The number of nodes
+	 */
+	public int nodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Returns the number of bytes of off-heap memory allocated for the nodes.
+	 *
+	 * @return The allocated size in bytes
+	 */
+	public long allocatedBytes() {
+		long pageCount = (nodeCount + NODES_PER_PAGE - 1) >> PAGE_SHIFT;
+		return pageCount * NODES_PER_PAGE * NODE_SIZE;
+	}
+
+	/**
+	 * Inserts a word in the tree if not already present.
+	 *
+	 * @param word A word
+	 */
+	public void insertWord(String word) {
+		insert(word);
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * Inserts a word in a single walk, creating the nodes as needed; on the
+	 * path of a word already present, the length masks already hold its bits.
+	 * Also used by the constructor, which must not call an overridable method.
+	 */
+	private void insert(String word) {
+		if (word == null || word.trim().isEmpty()) {
+			return;
+		}
+		int node = ROOT;
+		orLengthMask(node, LexicographicTree.lengthBit(word.length()));
+		for (int i = 0; i < word.length(); i++) {
+			node = getOrCreateChild(node, word.charAt(i));
+			orLengthMask(node, LexicographicTree.lengthBit(word.length() - i - 1));
+		}
+		if (isEndOfWord(node)) {
+			return;
+		}
+		page(node).putShort(offset(node) + FLAGS, END_OF_WORD);
+		wordCount++;
+	}
+
+	private ByteBuffer page(int node) {
+		return pages[node >>> PAGE_SHIFT];
+	}
+
+	private static int offset(int node) {
+		return (node & PAGE_MASK) * NODE_SIZE;
+	}
+
+	private int child(int node) {
+		return page(node).getInt(offset(node) + CHILD);
+	}
+
+	private int sibling(int node) {
+		return page(node).getInt(offset(node) + SIBLING);
+	}
+
+	private int lengthMask(int node) {
+		return page(node).getInt(offset(node) + LENGTH_MASK);
+	}
+
+	private char value(int node) {
+		return page(node).getChar(offset(node) + VALUE);
+	}
+
+	private boolean isEndOfWord(int node) {
+		return (page(node).getShort(offset(node) + FLAGS) & END_OF_WORD) != 0;
+	}
+
+	private void orLengthMask(int node, int bits) {
+		ByteBuffer page = page(node);
+		int offset = offset(node) + LENGTH_MASK;
+		page.putInt(offset, page.getInt(offset) | bits);
+	}
+
+	/**
+	 * Allocates a zeroed node record, adding a page if needed.
+	 */
+	private int allocate(char value) {
+		if (nodeCount == Integer.MAX_VALUE) {
+			throw new IllegalStateException("Too many nodes");
+		}
+		int node = nodeCount;
+		int pageIndex = node >>> PAGE_SHIFT;
+		if (pageIndex == pages.length) {
+			pages = Arrays.copyOf(pages, pages.length * 2);
+		}
+		if (pages[pageIndex] == null) {
+			pages[pageIndex] = ByteBuffer.allocateDirect(NODES_PER_PAGE * NODE_SIZE).order(ByteOrder.nativeOrder());
+		}
+		page(node).putChar(offset(node) + VALUE, value);
+		nodeCount++;
+		return node;
+	}
+
+	private int getOrCreateChild(int node, char c) {
+		int previousChild = NONE;
+		int child = child(node);
+		while (child != NONE && value(child) < c) {
+			previousChild = child;
+			child = sibling(child);
+		}
+		if (child != NONE && value(child) == c) {
+			return child;
+		}
+
+		int newNode = allocate(c);
+		page(newNode).putInt(offset(newNode) + SIBLING, child);
+		if (previousChild != NONE) {
+			page(previousChild).putInt(offset(previousChild) + SIBLING, newNode);
+		} else {
+			page(node).putInt(offset(node) + CHILD, newNode);
+		}
+		return newNode;
+	}
+
+	private int findChild(int node, char c) {
+		for (int child = child(node); child != NONE; child = sibling(child)) {
+			char value = value(child);
+			if (value == c) {
+				return child;
+			} else if (value > c) {
+				break;
+			}
+		}
+		return NONE;
+	}
+
+	int match(CharSequence prefix) {
+		int node = findNode(prefix);
+		return node == NONE ? ABSENT : isEndOfWord(node) ? WORD : PREFIX;
+	}
+
+	int match(char[] prefix, int offset, int length) {
+		int node = findNode(prefix, offset, length);
+		return node == NONE ? ABSENT : isEndOfWord(node) ? WORD : PREFIX;
+	}
+
+	void collectWords(String prefix, int length, List<String> words) {
+		int node = findNode(prefix);
+		if (node != NONE || prefix.isEmpty()) { // the root has the number of NONE
+			getWordsRecursive(node, new StringBuilder(prefix), length, words);
+		}
+	}
+
+	private int findNode(CharSequence prefix) {
+		int node = ROOT;
+		for (int i = 0; i < prefix.length(); i++) {
+			node = findChild(node, prefix.charAt(i));
+			if (node == NONE) {
+				break;
+			}
+		}
+		return node;
+	}
+
+	private int findNode(char[] prefix, int offset, int length) {
+		int node = ROOT;
+		for (int i = offset; i < offset + length; i++) {
+			node = findChild(node, prefix[i]);
+			if (node == NONE) {
+				break;
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * Lists the words below a node, or only those ending 'length' characters
+	 * below the root if 'length' is not negative.
+	 */
+	private void getWordsRecursive(int node, StringBuilder prefix, int length, List<String> words) {
+		if (isEndOfWord(node) && (length < 0 || prefix.length() == length)) {
+			words.add(prefix.toString());
+		}
+		if (length >= 0 && prefix.length() >= length) {
+			return;
+		}
+		for (int child = child(node); child != NONE; child = sibling(child)) {
+			if (length < 0 || (lengthMask(child) & LexicographicTree.lengthBit(length - prefix.length() - 1)) != 0) {
+				prefix.append(value(child));
+				getWordsRecursive(child, prefix, length, words);
+				prefix.setLength(prefix.length() - 1);
+			}
+		}
+	}
+
+	/*
+	 * TEST FUNCTIONS
+	 */
+
+	private static String numberToWordBreadthFirst(long number) {
+		String word = "";
+		int radix = 13;
+		do {
+			word = (char) ('a' + (int) (number % radix)) + word;
+			number = number / radix;
+		} while (number != 0);
+		return word;
+	}
+
+	private static void testDictionarySize() {
+		final int MB = 1024 * 1024;
+		System.out.print(Runtime.getRuntime().totalMemory() / MB + " / ");
+		System.out.println(Runtime.getRuntime().maxMemory() / MB);
+
+		OffHeapLexicographicTree dico = new OffHeapLexicographicTree();
+		long count = 0;
+		while (true) {
+			dico.insertWord(numberToWordBreadthFirst(count));
+			count++;
+			if (count % MB == 0) {
+				System.out.println(count / MB + "M -> " + Runtime.getRuntime().freeMemory() / MB + " / off-heap "
+						+ dico.allocatedBytes() / MB);
+			}
+		}
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	public static void main(String[] args) {
+		// CST : test de taille maximale si VM -Xmx256m -XX:MaxDirectMemorySize=8g
+		testDictionarySize();
+	}
+}
@@ -0,0 +1,130 @@
+package tree;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import tree.LexicographicTree.Node;
+
+/**
+ * Builds a {@link LexicographicTree} from a word file on a fork-join pool.
+ *
+ * The file is memory-mapped and cut into chunks on line boundaries. The
+ * chunks are decoded in parallel, their words are grouped by first character,
+ * and each group is inserted into its own subtree in parallel. The subtrees
+ * are finally spliced under a common root. Since the shape of a tree does not
+ * depend on the insertion order, the result is identical to a sequential
+ * build.
+ */
+final class ParallelTreeLoader {
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private ParallelTreeLoader() {
+	}
+
+	static LexicographicTree load(String filename, ForkJoinPool pool) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				// Too large for a single mapping: load it sequentially
+				return new LexicographicTree(filename);
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		// Decode the chunks
+		List<Callable<List<String>>> readers = new ArrayList<>();
+		int chunkCount = Math.max(1, pool.getParallelism() * CHUNKS_PER_THREAD);
+		int start = 0;
+		for (int i = 1; i <= chunkCount && start < buffer.limit(); i++) {
+			int end = i == chunkCount ? buffer.limit() : nextLine(buffer, (int) ((long) buffer.limit() * i / chunkCount));
+			if (end > start) {
+				int from = start;
+				readers.add(() -> readWords(buffer, from, end));
+			}
+			start = end;
+		}
+		Map<Character, List<String>> groups = new TreeMap<>();
+		for (List<String> words : invokeAll(pool, readers)) {
+			for (String word : words) {
+				groups.computeIfAbsent(word.charAt(0), c -> new ArrayList<>()).add(word);
+			}
+		}
+
+		// Build one subtree per first character
+		List<Callable<Node>> builders = new ArrayList<>();
+		for (List<String> words : groups.values()) {
+			builders.add(() -> {
+				LexicographicTree.SortedBuilder builder = new LexicographicTree.SortedBuilder();
+				for (String word : words) {
+					builder.add(word);
+				}
+				return builder.build().root().child;
+			});
+		}
+		LexicographicTree tree = new LexicographicTree();
+		tree.setChildren(invokeAll(pool, builders));
+		return tree;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static <T> List<T> invokeAll(ForkJoinPool pool, List<Callable<T>> tasks) throws IOException {
+		List<T> results = new ArrayList<>(tasks.size());
+		try {
+			for (Future<T> future : pool.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while loading the dictionary", e);
+		} catch (ExecutionException e) {
+			throw new IOException("Error while loading the dictionary", e.getCause());
+		}
+		return results;
+	}
+
+	/**
+	 * Returns the position following the first line feed at or after a
+	 * position. A line feed byte never appears inside a UTF-8 sequence.
+	 */
+	private static int nextLine(MappedByteBuffer buffer, int position) {
+		while (position < buffer.limit() && buffer.get(position) != '\n') {
+			position++;
+		}
+		return Math.min(position + 1, buffer.limit());
+	}
+
+	private static List<String> readWords(MappedByteBuffer buffer, int start, int end) {
+		byte[] bytes = new byte[end - start];
+		buffer.get(start, bytes);
+		String text = new String(bytes, StandardCharsets.UTF_8);
+		List<String> words = new ArrayList<>();
+		int lineStart = 0;
+		while (lineStart < text.length()) {
+			int lineEnd = text.indexOf('\n', lineStart);
+			if (lineEnd < 0) {
+				lineEnd = text.length();
+			}
+			String word = text.substring(lineStart, lineEnd).trim();
+			if (!word.isEmpty()) {
+				words.add(word);
+			}
+			lineStart = lineEnd + 1;
+		}
+		return words;
+	}
+}
@@ -0,0 +1,428 @@
+package tree;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable lexicographic tree whose updates return a new version.
+ *
+ * An update copies the nodes on the path of the changed word and shares every
+ * other subtree with the previous version, so a version costs
+ * O(length x fan-out) new nodes instead of a whole tree. Versions are never
+ * modified: any number of threads may read any of them without locking, and
+ * a version no longer referenced is collected with the nodes it does not
+ * share. The children of a node are kept in an array sorted by character and
+ * searched by dichotomy.
+ *
+ * See {@link DictionaryHandle} to publish the current version to readers.
+ */
+public final class PersistentLexicographicTree extends AbstractLexicon {
+	static final class Node {
+		final char value;
+		final boolean isEndOfWord;
+		final Node[] children; // sorted by character
+		final int wordCount; // number of words ending in this node or below
+		final int lengthMask; // bit d set if a word ends d characters below this node
+
+		Node(char value, boolean isEndOfWord, Node[] children) {
+			this.value = value;
+			this.isEndOfWord = isEndOfWord;
+			this.children = children;
+			int count = isEndOfWord ? 1 : 0;
+			int mask = isEndOfWord ? LexicographicTree.lengthBit(0) : 0;
+			for (Node child : children) {
+				count += child.wordCount;
+				mask |= LexicographicTree.shiftLengthMask(child.lengthMask);
+			}
+			this.wordCount = count;
+			this.lengthMask = mask;
+		}
+	}
+
+	private static final Node[] NO_CHILDREN = new Node[0];
+
+	final Node root;
+	private final long version;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : creates an empty tree, version 0.
+	 */
+	public PersistentLexicographicTree() {
+		this(new Node('\0', false, NO_CHILDREN), 0);
+	}
+
+	/**
+	 * Constructor : creates a tree populated with words, version 0.
+	 *
+	 * @param filename A text file containing the words to be inserted in the tree
+	 */
+	public PersistentLexicographicTree(String filename) {
+		this(load(filename), 0);
+	}
+
+	private PersistentLexicographicTree(Node root, long version) {
+		this.root = root;
+		this.version = version;
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Returns the number of updates this version derives from: each version
+	 * returned by an update that changed the words is one more than the
+	 * version it was derived from.
+	 *
+	 * @return The version number
+	 */
+	public long version() {
+		return version;
+	}
+
+	public int size() {
+		return root.wordCount;
+	}
+
+	/**
+	 * Returns a version of the tree with a word added. As with the other
+	 * updates, the word is trimmed first.
+	 *
+	 * @param word A word
+	 * @return The new version, or this version if the word was already present
+	 *         or is empty
+	 */
+	public PersistentLexicographicTree withWord(String word) {
+		if (word == null || word.trim().isEmpty()) {
+			return this;
+		}
+		return derive(insert(root, word.trim(), 0));
+	}
+
+	/**
+	 * Returns a version of the tree with several words added. Each node is
+	 * copied at most once, however many of the words go through it.
+	 *
+	 * @param words Words to add
+	 * @return The new version, or this version if no word was added
+	 */
+	public PersistentLexicographicTree withWords(Collection<String> words) {
+		String[] sorted = sortedWords(words);
+		return derive(sorted.length == 0 ? root : merge(root, sorted, 0, sorted.length, 0));
+	}
+
+	/**
+	 * Returns a version of the tree with a word removed. As with the other
+	 * updates, the word is trimmed first.
+	 *
+	 * @param word A word
+	 * @return The new version, or this version if the word was absent
+	 */
+	public PersistentLexicographicTree withoutWord(String word) {
+		if (word == null || word.trim().isEmpty()) {
+			return this;
+		}
+		Node newRoot = remove(root, word.trim(), 0);
+		return derive(newRoot != null ? newRoot : new Node('\0', false, NO_CHILDREN));
+	}
+
+	/**
+	 * Returns a version of the tree holding exactly the supplied words, e.g. a
+	 * new release of the dictionary. The subtrees whose words did not change
+	 * are taken from this version rather than copied, so that both versions
+	 * together use little more memory than one.
+	 *
+	 * @param words The words of the new version
+	 * @return The new version, or this version if the words are the same
+	 */
+	public PersistentLexicographicTree replaceAll(Collection<String> words) {
+		String[] sorted = sortedWords(words);
+		return derive(build('\0', sorted, 0, sorted.length, 0, root));
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static Node load(String filename) {
+		List<String> words = readWords(filename);
+		if (words == null) {
+			return new Node('\0', false, NO_CHILDREN);
+		}
+		String[] sorted = sortedWords(words);
+		return build('\0', sorted, 0, sorted.length, 0, null);
+	}
+
+	private PersistentLexicographicTree derive(Node newRoot) {
+		return newRoot == root ? this : new PersistentLexicographicTree(newRoot, version + 1);
+	}
+
+	/**
+	 * Returns the index of the child of a node holding a character, or
+	 * -(insertion point) - 1 if there is none.
+	 */
+	private static int indexOf(Node node, char c) {
+		int low = 0;
+		int high = node.children.length - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			char value = node.children[middle].value;
+			if (value < c) {
+				low = middle + 1;
+			} else if (value > c) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -(low + 1);
+	}
+
+	private static Node findChild(Node node, char c) {
+		int i = indexOf(node, c);
+		return i >= 0 ? node.children[i] : null;
+	}
+
+	int match(CharSequence prefix) {
+		Node node = findNode(prefix);
+		return node == null ? ABSENT : node.isEndOfWord ? WORD : PREFIX;
+	}
+
+	int match(char[] prefix, int offset, int length) {
+		Node node = findNode(prefix, offset, length);
+		return node == null ? ABSENT : node.isEndOfWord ? WORD : PREFIX;
+	}
+
+	void collectWords(String prefix, int length, List<String> words) {
+		Node node = findNode(prefix);
+		if (node != null) {
+			getWordsRecursive(node, new StringBuilder(prefix), length, words);
+		}
+	}
+
+	private Node findNode(CharSequence prefix) {
+		Node node = root;
+		for (int i = 0; i < prefix.length() && node != null; i++) {
+			node = findChild(node, prefix.charAt(i));
+		}
+		return node;
+	}
+
+	private Node findNode(char[] prefix, int offset, int length) {
+		Node node = root;
+		for (int i = offset; i < offset + length && node != null; i++) {
+			node = findChild(node, prefix[i]);
+		}
+		return node;
+	}
+
+	/**
+	 * Returns a copy of the children of a node with one child replaced,
+	 * inserted or removed (if 'child' is null).
+	 */
+	private static Node[] withChild(Node node, int index, Node child) {
+		if (index < 0) {
+			int position = -index - 1;
+			Node[] children = new Node[node.children.length + 1];
+			System.arraycopy(node.children, 0, children, 0, position);
+			children[position] = child;
+			System.arraycopy(node.children, position, children, position + 1, node.children.length - position);
+			return children;
+		}
+		if (child == null) {
+			Node[] children = new Node[node.children.length - 1];
+			System.arraycopy(node.children, 0, children, 0, index);
+			System.arraycopy(node.children, index + 1, children, index, children.length - index);
+			return children;
+		}
+		Node[] children = node.children.clone();
+		children[index] = child;
+		return children;
+	}
+
+	/**
+	 * Returns the node with the word ending 'depth' characters above it added,
+	 * or the node itself if the word is already present.
+	 */
+	private static Node insert(Node node, String word, int depth) {
+		if (depth == word.length()) {
+			return node.isEndOfWord ? node : new Node(node.value, true, node.children);
+		}
+		char c = word.charAt(depth);
+		int i = indexOf(node, c);
+		Node child = i >= 0 ? node.children[i] : new Node(c, false, NO_CHILDREN);
+		Node newChild = insert(child, word, depth + 1);
+		if (newChild == child) {
+			return node;
+		}
+		return new Node(node.value, node.isEndOfWord, withChild(node, i, newChild));
+	}
+
+	/**
+	 * Returns the node with a word removed, the node itself if the word is
+	 * absent, or null if no word is left at or below the node.
+	 */
+	private static Node remove(Node node, String word, int depth) {
+		if (depth == word.length()) {
+			if (!node.isEndOfWord) {
+				return node;
+			}
+			return node.children.length == 0 ? null : new Node(node.value, false, node.children);
+		}
+		int i = indexOf(node, word.charAt(depth));
+		if (i < 0) {
+			return node;
+		}
+		Node child = node.children[i];
+		Node newChild = remove(child, word, depth + 1);
+		if (newChild == child) {
+			return node;
+		}
+		Node[] children = withChild(node, i, newChild);
+		if (children.length == 0 && !node.isEndOfWord) {
+			return null;
+		}
+		return new Node(node.value, node.isEndOfWord, children);
+	}
+
+	/**
+	 * Returns the node with the words of words[from..to[ added, all of them
+	 * having the prefix spelled by the node, of length 'depth'.
+	 */
+	private static Node merge(Node node, String[] words, int from, int to, int depth) {
+		boolean isEndOfWord = node.isEndOfWord;
+		if (words[from].length() == depth) {
+			isEndOfWord = true;
+			from++;
+		}
+		boolean changed = isEndOfWord != node.isEndOfWord;
+		List<Node> children = new ArrayList<>(node.children.length + 1);
+		int k = 0;
+		for (int i = from; i < to;) {
+			char c = words[i].charAt(depth);
+			int j = nextGroup(words, i, to, depth);
+			while (k < node.children.length && node.children[k].value < c) {
+				children.add(node.children[k++]);
+			}
+			Node child = k < node.children.length && node.children[k].value == c ? node.children[k++]
+					: new Node(c, false, NO_CHILDREN);
+			Node newChild = merge(child, words, i, j, depth + 1);
+			changed |= newChild != child;
+			children.add(newChild);
+			i = j;
+		}
+		if (!changed) {
+			return node;
+		}
+		while (k < node.children.length) {
+			children.add(node.children[k++]);
+		}
+		return new Node(node.value, isEndOfWord, children.toArray(NO_CHILDREN));
+	}
+
+	/**
+	 * Builds the node holding the words of words[from..to[, all of them having
+	 * the prefix spelled by the node, of length 'depth'. If the node of the
+	 * same prefix in an earlier version holds the same words, it is returned
+	 * instead, and the new node is left to the garbage collector.
+	 */
+	private static Node build(char value, String[] words, int from, int to, int depth, Node previous) {
+		boolean isEndOfWord = from < to && words[from].length() == depth;
+		if (isEndOfWord) {
+			from++;
+		}
+		List<Node> children = new ArrayList<>();
+		boolean same = previous != null && previous.isEndOfWord == isEndOfWord;
+		for (int i = from; i < to;) {
+			char c = words[i].charAt(depth);
+			int j = nextGroup(words, i, to, depth);
+			Node previousChild = previous != null ? findChild(previous, c) : null;
+			Node child = build(c, words, i, j, depth + 1, previousChild);
+			same = same && child == previousChild;
+			children.add(child);
+			i = j;
+		}
+		if (same && previous.children.length == children.size()) {
+			return previous;
+		}
+		return new Node(value, isEndOfWord, children.toArray(NO_CHILDREN));
+	}
+
+	/**
+	 * Returns the end of the run of words sharing the character at 'depth'
+	 * with words[from].
+	 */
+	private static int nextGroup(String[] words, int from, int to, int depth) {
+		char c = words[from].charAt(depth);
+		int i = from + 1;
+		while (i < to && words[i].charAt(depth) == c) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Returns the non-empty words of a collection, trimmed, sorted and without
+	 * duplicates.
+	 */
+	private static String[] sortedWords(Collection<String> words) {
+		return words.stream()
+				.filter(Objects::nonNull)
+				.map(String::trim)
+				.filter(word -> !word.isEmpty())
+				.sorted()
+				.distinct()
+				.toArray(String[]::new);
+	}
+
+	/**
+	 * Reads the words of a file, one per line.
+	 *
+	 * @return The words, or null if the file cannot be read
+	 */
+	static List<String> readWords(String filename) {
+		List<String> words = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				words.add(line);
+			}
+		} catch (IOException e) {
+			System.err.println("Error while reading the file: " + e.getMessage());
+			return null;
+		}
+		return words;
+	}
+
+	/**
+	 * Lists the words below a node, or only those ending 'length' characters
+	 * below the root if 'length' is not negative.
+	 */
+	private static void getWordsRecursive(Node node, StringBuilder prefix, int length, List<String> words) {
+		if (node.isEndOfWord && (length < 0 || prefix.length() == length)) {
+			words.add(prefix.toString());
+		}
+		if (length >= 0 && prefix.length() >= length) {
+			return;
+		}
+		for (Node child : node.children) {
+			if (length < 0 || (child.lengthMask & LexicographicTree.lengthBit(length - prefix.length() - 1)) != 0) {
+				prefix.append(child.value);
+				getWordsRecursive(child, prefix, length, words);
+				prefix.setLength(prefix.length() - 1);
+			}
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the words of a dictionary by letter-repetition pattern.
+ *
+ * The pattern of a word replaces each letter by the rank of its first
+ * occurrence: "ETE" and "ANNA" become "ABA" and "ABBA". Two words have the
+ * same pattern exactly when one can be turned into the other by a simple
+ * substitution, so the candidates for a cipher word are the words sharing its
+ * pattern. Words of a pattern all have the same length and are stored one
+ * after the other in a single char array, in alphabetical order.
+ */
+public class RepetitionPatternIndex {
+	private static final class Group {
+		final int length;
+		char[] chars;
+		int count;
+
+		Group(int length) {
+			this.length = length;
+			this.chars = new char[length * 4];
+		}
+
+		void add(String word) {
+			if ((count + 1) * length > chars.length) {
+				chars = Arrays.copyOf(chars, chars.length * 2);
+			}
+			word.getChars(0, length, chars, count * length);
+			count++;
+		}
+
+		String get(int index) {
+			return new String(chars, index * length, length);
+		}
+	}
+
+	private final Map<String, Group> groups = new HashMap<>();
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : indexes all the words of a dictionary.
+	 *
+	 * @param dict A dictionary
+	 */
+	public RepetitionPatternIndex(LexicographicTree dict) {
+		dict.streamWords("").forEachOrdered(word -> groups.computeIfAbsent(pattern(word), p -> new Group(p.length())).add(word));
+		for (Group group : groups.values()) {
+			group.chars = Arrays.copyOf(group.chars, group.count * group.length);
+		}
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Returns the letter-repetition pattern of a word, e.g. "ABCB" for "ETAT".
+	 *
+	 * @param word A word
+	 * @return The pattern of the word
+	 */
+	public static String pattern(CharSequence word) {
+		char[] pattern = new char[word.length()];
+		char next = 'A';
+		for (int i = 0; i < pattern.length; i++) {
+			char c = word.charAt(i);
+			pattern[i] = 0;
+			for (int j = 0; j < i; j++) {
+				if (word.charAt(j) == c) {
+					pattern[i] = pattern[j];
+					break;
+				}
+			}
+			if (pattern[i] == 0) {
+				pattern[i] = next++;
+			}
+		}
+		return new String(pattern);
+	}
+
+	/**
+	 * Returns the number of distinct patterns in the index.
+	 *
+	 * @return The number of patterns
+	 */
+	public int patternCount() {
+		return groups.size();
+	}
+
+	/**
+	 * Returns an alphabetic list of the words having the same pattern as a
+	 * given word, in O(number of matches).
+	 *
+	 * @param word A word, typically a cipher word
+	 * @return The words that can be obtained from 'word' by a simple
+	 *         substitution
+	 */
+	public List<String> getCompatibleWords(CharSequence word) {
+		Group group = groups.get(pattern(word));
+		if (group == null) {
+			return Collections.emptyList();
+		}
+		List<String> words = new ArrayList<>(group.count);
+		for (int i = 0; i < group.count; i++) {
+			words.add(group.get(i));
+		}
+		return words;
+	}
+
+	/**
+	 * Returns the first word, in alphabetical order, having the same pattern as
+	 * a given word.
+	 *
+	 * @param word A word, typically a cipher word
+	 * @return The first compatible word, or null if there is none
+	 */
+	public String getFirstCompatibleWord(CharSequence word) {
+		Group group = groups.get(pattern(word));
+		return group != null ? group.get(0) : null;
+	}
+}
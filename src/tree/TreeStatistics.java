@@ -0,0 +1,183 @@
+package tree;
+
+import java.util.Arrays;
+
+import tree.LexicographicTree.Node;
+import tree.LexicographicTree.WideNode;
+
+/**
+ * Snapshot of the shape and estimated memory footprint of a lexicographic
+ * tree, computed in a single pass over its nodes.
+ *
+ * Sizes are estimated for a 64-bit JVM with compressed references (heaps
+ * under 32 GB): 40 bytes per node, plus 128 bytes for the child table of a
+ * wide node. The strings of a cache of words by length are not counted.
+ */
+public class TreeStatistics {
+	static final int NODE_BYTES = 40;
+	static final int WIDE_NODE_EXTRA_BYTES = 8 + 16 + 4 * 26; // field and padding, array header, table
+
+	private final int nodeCount;
+	private final int wordCount;
+	private final int wideNodeCount;
+	private final long totalWordLength;
+	private final int[] fanOutHistogram;
+	private final int[] depthHistogram;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : walks the tree below a root.
+	 *
+	 * @param root The root of a tree
+	 */
+	TreeStatistics(Node root) {
+		int nodes = 0;
+		int words = 0;
+		int wideNodes = 0;
+		long totalLength = 0;
+		int[] fanOuts = new int[8];
+		int[] depths = new int[16];
+
+		// Depth-first traversal, the depth of each pending node kept alongside it
+		Node[] stack = new Node[64];
+		int[] stackDepths = new int[stack.length];
+		int size = 0;
+		stack[size] = root;
+		stackDepths[size++] = 0;
+		while (size > 0) {
+			Node node = stack[--size];
+			int depth = stackDepths[size];
+			stack[size] = null;
+			nodes++;
+			if (node instanceof WideNode) {
+				wideNodes++;
+			}
+			if (node.isEndOfWord) {
+				words++;
+				totalLength += depth;
+			}
+			int fanOut = 0;
+			for (Node child = node.child; child != null; child = child.sibling) {
+				fanOut++;
+				if (size == stack.length) {
+					stack = Arrays.copyOf(stack, 2 * size);
+					stackDepths = Arrays.copyOf(stackDepths, 2 * size);
+				}
+				stack[size] = child;
+				stackDepths[size++] = depth + 1;
+			}
+			if (fanOut >= fanOuts.length) {
+				fanOuts = Arrays.copyOf(fanOuts, Math.max(2 * fanOuts.length, fanOut + 1));
+			}
+			fanOuts[fanOut]++;
+			if (depth >= depths.length) {
+				depths = Arrays.copyOf(depths, Math.max(2 * depths.length, depth + 1));
+			}
+			depths[depth]++;
+		}
+
+		this.nodeCount = nodes;
+		this.wordCount = words;
+		this.wideNodeCount = wideNodes;
+		this.totalWordLength = totalLength;
+		this.fanOutHistogram = trim(fanOuts);
+		this.depthHistogram = trim(depths);
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * @return The number of nodes, root included
+	 */
+	public int getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * @return The number of nodes ending a word, i.e. the number of words
+	 */
+	public int getWordCount() {
+		return wordCount;
+	}
+
+	/**
+	 * @return The number of nodes with a direct child table
+	 */
+	public int getWideNodeCount() {
+		return wideNodeCount;
+	}
+
+	/**
+	 * @return The number of nodes having i children, at index i
+	 */
+	public int[] getFanOutHistogram() {
+		return fanOutHistogram.clone();
+	}
+
+	/**
+	 * @return The number of nodes at depth i, at index i (the root is at depth
+	 *         0)
+	 */
+	public int[] getDepthHistogram() {
+		return depthHistogram.clone();
+	}
+
+	/**
+	 * @return The total number of characters of the words
+	 */
+	public long getTotalWordLength() {
+		return totalWordLength;
+	}
+
+	/**
+	 * Returns the proportion of the characters of the words that are not
+	 * stored in a node of their own because they belong to a prefix shared
+	 * with another word.
+	 *
+	 * @return The shared-prefix ratio, between 0 and 1
+	 */
+	public double getSharedPrefixRatio() {
+		return totalWordLength == 0 ? 0 : 1 - (double) (nodeCount - 1) / totalWordLength;
+	}
+
+	/**
+	 * @return The estimated number of bytes retained by the nodes
+	 */
+	public long getEstimatedBytes() {
+		return (long) nodeCount * NODE_BYTES + (long) wideNodeCount * WIDE_NODE_EXTRA_BYTES;
+	}
+
+	/**
+	 * @return The estimated number of bytes retained per word
+	 */
+	public double getEstimatedBytesPerWord() {
+		return wordCount == 0 ? 0 : (double) getEstimatedBytes() / wordCount;
+	}
+
+	public String toString() {
+		return String.format("Nodes : %d (%d wide)%n", nodeCount, wideNodeCount)
+				+ String.format("Words : %d (%d characters)%n", wordCount, totalWordLength)
+				+ String.format("Shared-prefix ratio : %.3f%n", getSharedPrefixRatio())
+				+ String.format("Estimated size : %d KB (%.1f bytes per word)%n", getEstimatedBytes() / 1024,
+						getEstimatedBytesPerWord())
+				+ "Fan-out histogram : " + Arrays.toString(fanOutHistogram) + System.lineSeparator()
+				+ "Depth histogram : " + Arrays.toString(depthHistogram);
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static int[] trim(int[] histogram) {
+		int length = histogram.length;
+		while (length > 0 && histogram[length - 1] == 0) {
+			length--;
+		}
+		return Arrays.copyOf(histogram, length);
+	}
+}
@@ -0,0 +1,373 @@
+package tree;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import tree.LexicographicTree.Node;
+
+/**
+ * Splits a text without spaces into words of a {@link LexicographicTree}.
+ *
+ * From each position of the text, the tree is walked once along the
+ * following characters, which lists every word starting there. A Viterbi pass
+ * then keeps, for each position, the cheapest split of the text up to it. The
+ * cost of a word is -log of its probability, estimated from the weights of
+ * the tree (see {@link LexicographicTree#setWeight(String, int)}): without
+ * weights, the split with the fewest words wins. A character that starts no
+ * word is kept as a word of its own, at a higher cost than any word of the
+ * dictionary.
+ *
+ * The text is read through a window of bounded size. Once the window is full,
+ * the best splits of the last positions are traced back: any split of the
+ * whole text goes through one of them, so the words on which they all agree
+ * are final. They are emitted and dropped from the window. The segmentation
+ * is therefore the same as with an unbounded window, unless no agreement is
+ * found, in which case the first half of the best current split is emitted
+ * anyway.
+ *
+ * The tree and its weights must not be modified while a text is segmented.
+ */
+public class WordSegmenter {
+	public static final int DEFAULT_WINDOW = 4096;
+	private static final double UNKNOWN_PENALTY = 10;
+
+	private final LexicographicTree dictionary;
+	private final int window;
+	private final int maxWordLength;
+	private final double logTotalWeight;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : creates a segmenter with the default window size.
+	 *
+	 * @param dictionary The dictionary of the words
+	 */
+	public WordSegmenter(LexicographicTree dictionary) {
+		this(dictionary, DEFAULT_WINDOW);
+	}
+
+	/**
+	 * Constructor : creates a segmenter reading at most 'window' characters
+	 * ahead of the last emitted word.
+	 *
+	 * @param dictionary The dictionary of the words
+	 * @param window     Size of the window, at least four times the length of
+	 *                   the longest word
+	 * @throws IllegalArgumentException If the window is too small
+	 */
+	public WordSegmenter(LexicographicTree dictionary, int window) {
+		this.dictionary = dictionary;
+		this.window = window;
+		this.maxWordLength = Math.max(longestWord(dictionary.root()), 1);
+		if (window < 4 * maxWordLength) {
+			throw new IllegalArgumentException("Window smaller than " + 4 * maxWordLength + ": " + window);
+		}
+		this.logTotalWeight = Math.log(totalWeight(dictionary.root()) + dictionary.size() + 1);
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * @return The size of the window
+	 */
+	public int window() {
+		return window;
+	}
+
+	/**
+	 * Splits a text into words.
+	 *
+	 * @param text A text without spaces; case and whitespace are ignored
+	 * @return The words of the text, in order
+	 */
+	public List<String> segment(CharSequence text) {
+		List<String> words = new ArrayList<>();
+		try {
+			segment(new StringReader(text.toString()), words::add);
+		} catch (IOException e) {
+			throw new IllegalStateException(e); // not thrown by a StringReader
+		}
+		return words;
+	}
+
+	/**
+	 * Splits a text into words as it is read, using memory proportional to
+	 * the window and not to the text.
+	 *
+	 * @param input A text without spaces; case and whitespace are ignored
+	 * @param words Receives the words of the text, in order
+	 * @throws IOException If the text cannot be read
+	 */
+	public void segment(Reader input, Consumer<String> words) throws IOException {
+		Viterbi viterbi = new Viterbi(words);
+		char[] chunk = new char[1024];
+		int count;
+		while ((count = input.read(chunk)) >= 0) {
+			for (int i = 0; i < count; i++) {
+				if (!Character.isWhitespace(chunk[i])) {
+					viterbi.append(Character.toLowerCase(chunk[i]));
+				}
+			}
+		}
+		viterbi.finish();
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * Returns the length of the longest word below a node, read from the length
+	 * masks: only the subtrees holding words too long for the masks are walked.
+	 */
+	private static int longestWord(Node node) {
+		int longest = 31 - Integer.numberOfLeadingZeros(node.lengthMask);
+		if (longest < LexicographicTree.MAX_TRACKED_LENGTH) {
+			return longest;
+		}
+		for (Node child = node.child; child != null; child = child.sibling) {
+			if ((child.lengthMask & LexicographicTree.lengthBit(LexicographicTree.MAX_TRACKED_LENGTH)) != 0) {
+				longest = Math.max(longest, 1 + longestWord(child));
+			}
+		}
+		return longest;
+	}
+
+	/**
+	 * Returns the sum of the weights of the words below a node, skipping the
+	 * subtrees without any weighted word.
+	 */
+	private static long totalWeight(Node node) {
+		long total = node.isEndOfWord ? node.weight : 0;
+		for (Node child = node.child; child != null; child = child.sibling) {
+			if (child.maxWeight > 0) {
+				total += totalWeight(child);
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * State of the segmentation of one text. Positions are relative to the
+	 * start of the window, which is always the end of an emitted word.
+	 */
+	private final class Viterbi {
+		private final Consumer<String> words;
+		private final char[] text = new char[window];
+		private final double[] cost = new double[window + 1]; // cost of the best split up to a position
+		private final int[] start = new int[window + 1]; // start of the last word of that split
+		private int length; // number of characters in the window
+		private int expanded; // the words starting before this position are known
+
+		Viterbi(Consumer<String> words) {
+			this.words = words;
+			Arrays.fill(cost, Double.POSITIVE_INFINITY);
+			cost[0] = 0;
+		}
+
+		void append(char c) {
+			if (length == window) {
+				expand(length - maxWordLength);
+				int end = agreement();
+				if (end > 0) {
+					emit(end);
+					shift(end);
+				} else {
+					end = halfOfBestSplit();
+					emit(end);
+					restart();
+				}
+			}
+			text[length++] = c;
+		}
+
+		void finish() {
+			expand(length);
+			emit(length);
+		}
+
+		/**
+		 * Lists the words starting at each position before 'end', all their
+		 * characters being in the window, and relaxes the costs of the positions
+		 * where they end.
+		 */
+		private void expand(int end) {
+			for (; expanded < end; expanded++) {
+				int i = expanded;
+				relax(i, i + 1, logTotalWeight + UNKNOWN_PENALTY);
+				Node node = dictionary.root();
+				for (int j = i; j < length && j - i < maxWordLength; j++) {
+					node = LexicographicTree.findChild(node, text[j]);
+					if (node == null) {
+						break;
+					}
+					if (node.isEndOfWord) {
+						relax(i, j + 1, logTotalWeight - Math.log(node.weight + 1));
+					}
+				}
+			}
+		}
+
+		private void relax(int from, int to, double wordCost) {
+			if (cost[from] + wordCost < cost[to]) {
+				cost[to] = cost[from] + wordCost;
+				start[to] = from;
+			}
+		}
+
+		/**
+		 * Returns the last position through which the best splits of all the
+		 * positions a future split may come from go, or 0 if they only agree on
+		 * the start.
+		 */
+		private int agreement() {
+			int[] visits = new int[expanded + 1];
+			int first = Math.max(0, expanded - maxWordLength + 1);
+			for (int end = first; end <= expanded; end++) {
+				for (int position = end; position > 0; position = start[position]) {
+					visits[position]++;
+				}
+			}
+			int paths = expanded - first + 1;
+			for (int position = expanded; position > 0; position = start[position]) {
+				if (visits[position] == paths) {
+					return position;
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * Returns the position halfway through the best split of the last
+		 * expanded position.
+		 */
+		private int halfOfBestSplit() {
+			int position = expanded;
+			while (position > expanded / 2) {
+				position = start[position];
+			}
+			return position;
+		}
+
+		/**
+		 * Emits the words of the best split up to a position, then slides the
+		 * text of the window to that position.
+		 */
+		private void emit(int end) {
+			List<String> split = new ArrayList<>();
+			for (int position = end; position > 0; position = start[position]) {
+				split.add(new String(text, start[position], position - start[position]));
+			}
+			for (int i = split.size() - 1; i >= 0; i--) {
+				words.accept(split.get(i));
+			}
+			System.arraycopy(text, end, text, 0, length - end);
+			length -= end;
+		}
+
+		/**
+		 * Slides the costs to the position of an agreement, which every split a
+		 * future split may come from goes through: they stay the best, and only
+		 * the positions whose best split skips that position are dropped. The
+		 * costs are not rebased on the agreement, so that they are exactly those
+		 * of an unbounded window.
+		 */
+		private void shift(int end) {
+			for (int position = end; position <= end + length; position++) {
+				boolean kept = position == end || start[position] >= end;
+				cost[position - end] = kept ? cost[position] : Double.POSITIVE_INFINITY;
+				start[position - end] = kept ? start[position] - end : 0;
+			}
+			Arrays.fill(cost, length + 1, cost.length, Double.POSITIVE_INFINITY);
+			expanded -= end;
+		}
+
+		/**
+		 * Computes the splits of the remaining characters again, when the window
+		 * was slid to a position some best splits skip, so that none goes back
+		 * before it.
+		 */
+		private void restart() {
+			Arrays.fill(cost, Double.POSITIVE_INFINITY);
+			cost[0] = 0;
+			expanded = 0;
+		}
+	}
+
+	/*
+	 * TEST FUNCTIONS
+	 */
+
+	private static void testSegmentation(String filename, String corpus) {
+		LexicographicTree dico = new LexicographicTree(filename);
+		dico.loadWeightsFromCorpus(corpus);
+		WordSegmenter segmenter = new WordSegmenter(dico);
+
+		// Remove the spaces and punctuation of the text
+		List<String> expected = new ArrayList<>();
+		StringBuilder text = new StringBuilder();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(corpus), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				for (String word : LexicographicTree.normalize(line).split("[^a-z]+")) {
+					if (!word.isEmpty()) {
+						expected.add(word);
+						text.append(word);
+					}
+				}
+			}
+		} catch (IOException e) {
+			System.err.println("Error while reading the file: " + e.getMessage());
+			return;
+		}
+
+		long startTime = System.currentTimeMillis();
+		List<String> words = segmenter.segment(text);
+		System.out.println("Segmentation time : " + (System.currentTimeMillis() - startTime) / 1000.0 + " s for "
+				+ text.length() + " characters");
+
+		// Count the words found at the right place
+		int found = 0;
+		int i = 0;
+		int j = 0;
+		int position = 0;
+		int expectedPosition = 0;
+		while (i < words.size() && j < expected.size()) {
+			if (position == expectedPosition && words.get(i).equals(expected.get(j))) {
+				found++;
+			}
+			if (position + words.get(i).length() <= expectedPosition + expected.get(j).length()) {
+				position += words.get(i++).length();
+			} else {
+				expectedPosition += expected.get(j++).length();
+			}
+		}
+		System.out.printf("Words found : %d / %d (%.1f %%)%n", found, expected.size(), 100.0 * found / expected.size());
+		System.out.println(String.join(" ", words.subList(0, Math.min(60, words.size()))));
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	public static void main(String[] args) {
+		// Découpage du roman privé de ses espaces, les mots étant pondérés par
+		// leur fréquence dans le roman lui-même
+		testSegmentation("mots/dictionnaire_FR_sans_accents.txt", "txt/Plus fort que Sherlock Holmes.txt");
+	}
+}
@@ -0,0 +1,189 @@
+package tree;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import tree.LexicographicTree.Node;
+
+/**
+ * Lazily enumerates, in alphabetical order, the words of one or more subtrees
+ * of a {@link LexicographicTree}.
+ *
+ * The remaining work is a queue of subtrees (frames). Splitting hands the
+ * first half of the queue to the new spliterator; when a single subtree is
+ * left, it is first expanded into its children, so parallel streams split the
+ * dictionary at subtree boundaries without materializing it.
+ *
+ * The tree must not be modified while the words are enumerated.
+ */
+final class WordSpliterator implements Spliterator<String> {
+	private static final int CHARACTERISTICS = ORDERED | SORTED | DISTINCT | NONNULL;
+
+	/**
+	 * A subtree to enumerate: the word of 'node' itself (if 'withSelf') and the
+	 * words below it (if 'withChildren'). 'path' is the word spelled by 'node'.
+	 */
+	private static final class Frame {
+		final Node node;
+		final String path;
+		final boolean withSelf;
+		final boolean withChildren;
+
+		Frame(Node node, String path, boolean withSelf, boolean withChildren) {
+			this.node = node;
+			this.path = path;
+			this.withSelf = withSelf;
+			this.withChildren = withChildren;
+		}
+	}
+
+	private final int length;
+	private final ArrayDeque<Frame> pending = new ArrayDeque<>();
+
+	// Depth-first traversal of the active frame
+	private boolean active;
+	private Node next;
+	private ArrayDeque<Node> path = new ArrayDeque<>();
+	private StringBuilder word = new StringBuilder();
+
+	/**
+	 * @param node   Root of the subtree to enumerate
+	 * @param prefix The word spelled by 'node'
+	 * @param length Expected word length, or -1 for words of any length
+	 */
+	WordSpliterator(Node node, String prefix, int length) {
+		this.length = length;
+		if (node != null && accepts(node, prefix.length())) {
+			pending.add(new Frame(node, prefix, true, true));
+		}
+	}
+
+	private WordSpliterator(int length) {
+		this.length = length;
+	}
+
+	public boolean tryAdvance(Consumer<? super String> action) {
+		while (true) {
+			if (active && advance(action)) {
+				return true;
+			}
+			Frame frame = pending.poll();
+			if (frame == null) {
+				return false;
+			}
+			word.setLength(0);
+			word.append(frame.path);
+			next = frame.withChildren ? frame.node.child : null;
+			active = true;
+			if (frame.withSelf && frame.node.isEndOfWord && matches(word.length())) {
+				action.accept(frame.path);
+				return true;
+			}
+		}
+	}
+
+	public Spliterator<String> trySplit() {
+		if (!active && pending.size() == 1) {
+			expand(pending.poll());
+		}
+		int half = pending.size() / 2;
+		if (!active && half == 0) {
+			return null;
+		}
+		WordSpliterator prefix = new WordSpliterator(length);
+		if (active) {
+			prefix.active = true;
+			prefix.next = next;
+			prefix.path = path;
+			prefix.word = word;
+			active = false;
+			next = null;
+			path = new ArrayDeque<>();
+			word = new StringBuilder();
+		}
+		for (int i = 0; i < half; i++) {
+			prefix.pending.add(pending.poll());
+		}
+		return prefix;
+	}
+
+	public long estimateSize() {
+		long size = active ? 1 : 0;
+		for (Frame frame : pending) {
+			size += frame.withChildren ? frame.node.wordCount : 1;
+		}
+		return size;
+	}
+
+	public int characteristics() {
+		return CHARACTERISTICS;
+	}
+
+	public Comparator<? super String> getComparator() {
+		return null; // natural order of strings, which is the order of the tree
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	/**
+	 * Continues the depth-first traversal of the active frame up to the next
+	 * word.
+	 */
+	private boolean advance(Consumer<? super String> action) {
+		while (true) {
+			if (next != null) {
+				Node node = next;
+				if (!accepts(node, word.length() + 1)) {
+					next = node.sibling;
+					continue;
+				}
+				path.push(node);
+				word.append(node.value);
+				next = node.child;
+				if (node.isEndOfWord && matches(word.length())) {
+					action.accept(word.toString());
+					return true;
+				}
+			} else if (!path.isEmpty()) {
+				next = path.pop().sibling;
+				word.setLength(word.length() - 1);
+			} else {
+				active = false;
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Replaces a frame by the word of its node and one frame per child.
+	 */
+	private void expand(Frame frame) {
+		if (frame.withSelf && frame.node.isEndOfWord && matches(frame.path.length())) {
+			pending.add(new Frame(frame.node, frame.path, true, false));
+		}
+		if (frame.withChildren) {
+			int depth = frame.path.length() + 1;
+			for (Node child = frame.node.child; child != null; child = child.sibling) {
+				if (accepts(child, depth)) {
+					pending.add(new Frame(child, frame.path + child.value, true, true));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determines if a node at a given depth may lead to a word of the expected
+	 * length.
+	 */
+	private boolean accepts(Node node, int depth) {
+		return length < 0 || (depth <= length && LexicographicTree.hasWordAtDistance(node, length - depth));
+	}
+
+	private boolean matches(int wordLength) {
+		return length < 0 || wordLength == length;
+	}
+}
@@ -0,0 +1,48 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class BloomFilterTest {
+	private static final String DICTIONNAIRE = "mots/dictionnaire_FR_sans_accents.txt";
+
+	@Test
+	void constructor_BadParameters() {
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(-1, 0.01));
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, Double.NaN));
+	}
+
+	@Test
+	void constructor_Sizing() {
+		BloomFilter filter = new BloomFilter(1000, 0.01);
+		assertEquals(9586, filter.bitCount());
+		assertEquals(7, filter.hashCount());
+		assertEquals(1000, filter.capacity());
+	}
+
+	@Test
+	void mightContain_NoFalseNegative() {
+		List<String> words = new LexicographicTree(DICTIONNAIRE).getWords("");
+		BloomFilter filter = new BloomFilter(words.size(), 0.01);
+		for (String word : words) {
+			filter.add(word);
+		}
+		for (String word : words) {
+			assertTrue(filter.mightContain(word), word);
+			assertTrue(filter.mightContain(("_" + word + "_").toCharArray(), 1, word.length()), word);
+		}
+
+		int falsePositives = 0;
+		for (String word : words) {
+			if (filter.mightContain(word + "xx")) {
+				falsePositives++;
+			}
+		}
+		double rate = (double) falsePositives / words.size();
+		assertTrue(rate < 0.015, "False-positive rate " + rate);
+	}
+}
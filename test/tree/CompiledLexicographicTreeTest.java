@@ -0,0 +1,77 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeAll;
+
+public class CompiledLexicographicTreeTest {
+	private static final String[] WORDS = new String[] {"a-cote", "aide", "as", "au","aujourd'hui", "aux",
+			"bu", "bus", "but", "cote", "et", "ete" };
+	private static final String DICTIONNAIRE = "mots/dictionnaire_FR_sans_accents.txt";
+	private static CompiledLexicographicTree DICT;
+
+	@BeforeAll
+	public static void initTestDictionary() {
+		LexicographicTree tree = new LexicographicTree();
+		for (int i = 0; i < WORDS.length; i++) {
+			tree.insertWord(WORDS[i]);
+		}
+		DICT = tree.freeze();
+	}
+
+	@Test
+	void freeze_EmptyDictionary() {
+		CompiledLexicographicTree dict = new LexicographicTree().freeze();
+		assertEquals(0, dict.size());
+		assertEquals(1, dict.nodeCount());
+		assertFalse(dict.containsWord("a"));
+		assertEquals(0, dict.getWords("").size());
+	}
+
+	@Test
+	void containsWord_General() {
+		for (String word : WORDS) {
+			assertTrue(DICT.containsWord(word), "Mot " + word + " non trouvé");
+		}
+		for (String word : new String[] { "", "aid", "ai", "aides", "mot", "e" }) {
+			assertFalse(DICT.containsWord(word), "Mot " + word + " inexistant trouvé");
+		}
+		assertFalse(DICT.containsWord(null));
+	}
+
+	@Test
+	void containsPrefix_General() {
+		assertTrue(DICT.containsPrefix("aujourd"));
+		assertTrue(DICT.containsPrefix("bus"));
+		assertFalse(DICT.containsPrefix("busy"));
+		assertFalse(DICT.containsPrefix(""));
+		assertFalse(DICT.containsPrefix(null));
+	}
+
+	@Test
+	void getWords_General() {
+		assertArrayEquals(WORDS, DICT.getWords("").toArray());
+		assertArrayEquals(new String[] { "bu", "bus", "but" }, DICT.getWords("bu").toArray());
+		assertEquals(0, DICT.getWords("x").size());
+		assertEquals(WORDS.length, DICT.getWords(null).size());
+	}
+
+	@Test
+	void getWordsOfLength_General() {
+		assertArrayEquals(new String[] { "aux", "bus", "but", "ete" }, DICT.getWordsOfLength(3).toArray());
+		assertEquals(0, DICT.getWordsOfLength(0).size());
+		assertEquals(0, DICT.getWordsOfLength(-1).size());
+	}
+
+	@Test
+	void freeze_SameWordsAsTree() {
+		LexicographicTree tree = new LexicographicTree(DICTIONNAIRE);
+		CompiledLexicographicTree dict = tree.freeze();
+		assertEquals(tree.size(), dict.size());
+		assertEquals(tree.getWords(""), dict.getWords(""));
+		for (int n = 0; n <= 28; n++) {
+			assertEquals(tree.getWordsOfLength(n), dict.getWordsOfLength(n));
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeAll;
+
+public class ConcurrentLexicographicTreeTest {
+	private static final String DICTIONNAIRE = "mots/dictionnaire_FR_sans_accents.txt";
+	private static final int THREADS = 8;
+	private static List<String> DICTIONARY_WORDS;
+
+	@BeforeAll
+	public static void initTestDictionary() {
+		DICTIONARY_WORDS = new LexicographicTree(DICTIONNAIRE).getWords("");
+	}
+
+	@Test
+	void insertWord_General() {
+		ConcurrentLexicographicTree dict = new ConcurrentLexicographicTree();
+		assertTrue(dict.insertWord("bus"));
+		assertFalse(dict.insertWord("bus"));
+		assertTrue(dict.insertWord("bu"));
+		assertTrue(dict.insertWord("as"));
+		assertFalse(dict.insertWord(""));
+		assertFalse(dict.insertWord(null));
+		assertEquals(3, dict.size());
+		assertTrue(dict.containsWord("bu"));
+		assertFalse(dict.containsWord("b"));
+		assertTrue(dict.containsPrefix("b"));
+		assertArrayEquals(new String[] { "as", "bu", "bus" }, dict.getWords("").toArray());
+		assertArrayEquals(new String[] { "as", "bu" }, dict.getWordsOfLength(2).toArray());
+	}
+
+	@Test
+	void concurrentInserts_EachWordAddedOnce() throws Exception {
+		ConcurrentLexicographicTree dict = new ConcurrentLexicographicTree();
+		AtomicInteger added = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int stripe = t % (THREADS / 2);
+			boolean reverse = t >= THREADS / 2;
+			// Every word is inserted by two threads, in opposite orders
+			futures.add(pool.submit(() -> {
+				int size = DICTIONARY_WORDS.size();
+				for (int k = 0; k < size; k++) {
+					int index = reverse ? size - 1 - k : k;
+					if (index % (THREADS / 2) == stripe && dict.insertWord(DICTIONARY_WORDS.get(index))) {
+						added.incrementAndGet();
+					}
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		pool.shutdown();
+
+		assertEquals(DICTIONARY_WORDS.size(), added.get());
+		assertEquals(DICTIONARY_WORDS.size(), dict.size());
+		assertEquals(DICTIONARY_WORDS, dict.getWords(""));
+	}
+
+	@Test
+	void concurrentReads_SeeCompletedInserts() throws Exception {
+		ConcurrentLexicographicTree dict = new ConcurrentLexicographicTree();
+		AtomicInteger inserted = new AtomicInteger();
+		AtomicInteger errors = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		for (int t = 0; t < THREADS - 1; t++) {
+			pool.submit(() -> {
+				while (inserted.get() < DICTIONARY_WORDS.size()) {
+					// Every insertion completed before reading the counter must be visible
+					int count = inserted.get();
+					for (int i = Math.max(0, count - 100); i < count; i++) {
+						String word = DICTIONARY_WORDS.get(i);
+						if (!dict.containsWord(word) || !dict.containsPrefix(word)) {
+							errors.incrementAndGet();
+						}
+					}
+					if (dict.containsWord(DICTIONARY_WORDS.get(count % DICTIONARY_WORDS.size()) + "xx")) {
+						errors.incrementAndGet();
+					}
+				}
+			});
+		}
+		for (String word : DICTIONARY_WORDS) {
+			dict.insertWord(word);
+			inserted.incrementAndGet();
+		}
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+		assertEquals(0, errors.get());
+		assertEquals(DICTIONARY_WORDS.size(), dict.size());
+	}
+}
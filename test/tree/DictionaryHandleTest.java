@@ -0,0 +1,71 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+public class DictionaryHandleTest {
+	private static final String DICTIONNAIRE = "mots/dictionnaire_FR_sans_accents.txt";
+
+	@Test
+	void swap_General() {
+		DictionaryHandle handle = new DictionaryHandle();
+		PersistentLexicographicTree empty = handle.pin();
+		assertEquals(0, empty.size());
+		PersistentLexicographicTree next = empty.withWord("bus");
+		assertSame(empty, handle.swap(next));
+		assertSame(next, handle.pin());
+		assertEquals(0, empty.size()); // a pinned version never changes
+		assertThrows(IllegalArgumentException.class, () -> handle.swap(null));
+		assertThrows(IllegalArgumentException.class, () -> new DictionaryHandle(null));
+	}
+
+	@Test
+	void update_ConcurrentWritersLoseNothing() throws InterruptedException {
+		DictionaryHandle handle = new DictionaryHandle();
+		Thread[] writers = new Thread[4];
+		for (int t = 0; t < writers.length; t++) {
+			int first = t * 1000;
+			writers[t] = new Thread(() -> {
+				for (int i = first; i < first + 1000; i++) {
+					String word = Integer.toString(i, 26);
+					handle.update(tree -> tree.withWord(word));
+				}
+			});
+			writers[t].start();
+		}
+		for (Thread writer : writers) {
+			writer.join();
+		}
+		assertEquals(4000, handle.pin().size());
+		assertEquals(4000, handle.pin().version());
+		assertSame(handle.pin(), handle.update(tree -> tree.withWord("0")));
+	}
+
+	@Test
+	void reload_General() {
+		DictionaryHandle handle = new DictionaryHandle(new PersistentLexicographicTree().withWord("bus"));
+		PersistentLexicographicTree before = handle.pin();
+		assertSame(before, handle.reload("mots/absent.txt"));
+		PersistentLexicographicTree after = handle.reload(DICTIONNAIRE);
+		assertEquals(327956, after.size());
+		assertSame(after, handle.pin());
+		assertSame(after, handle.reload(DICTIONNAIRE)); // same words, same version
+		assertEquals(List.of("bus"), before.getWords(""));
+	}
+
+	@Test
+	void swap_OldVersionIsCollected() throws InterruptedException {
+		DictionaryHandle handle = new DictionaryHandle(new PersistentLexicographicTree(DICTIONNAIRE));
+		WeakReference<PersistentLexicographicTree> old = new WeakReference<>(handle.pin());
+		handle.update(tree -> tree.withoutWord("bus"));
+		for (int i = 0; i < 20 && old.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(old.get());
+		assertFalse(handle.pin().containsWord("bus"));
+	}
+}
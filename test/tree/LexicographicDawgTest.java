@@ -0,0 +1,72 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+public class LexicographicDawgTest {
+	private static final String[] WORDS = new String[] {"a-cote", "aide", "as", "au","aujourd'hui", "aux",
+			"bu", "bus", "but", "cote", "et", "ete" };
+	private static final String DICTIONNAIRE = "mots/dictionnaire_FR_sans_accents.txt";
+	private static final LexicographicDawg DICT = new LexicographicDawg(Arrays.asList(WORDS));
+
+	@Test
+	void constructor_EmptyDictionary() {
+		LexicographicDawg dict = new LexicographicDawg(Arrays.asList());
+		assertEquals(0, dict.size());
+		assertEquals(0, dict.getWords("").size());
+	}
+
+	@Test
+	void constructor_UnsortedWords() {
+		assertThrows(IllegalArgumentException.class, () -> new LexicographicDawg(Arrays.asList("bus", "as")));
+	}
+
+	@Test
+	void constructor_DuplicateWords() {
+		LexicographicDawg dict = new LexicographicDawg(Arrays.asList("as", "as", "au", "", "au"));
+		assertEquals(2, dict.size());
+	}
+
+	@Test
+	void containsWord_General() {
+		for (String word : WORDS) {
+			assertTrue(DICT.containsWord(word), "Mot " + word + " non trouvé");
+		}
+		for (String word : new String[] { "", "aid", "ai", "aides", "mot", "e", "cu" }) {
+			assertFalse(DICT.containsWord(word), "Mot " + word + " inexistant trouvé");
+		}
+		assertFalse(DICT.containsWord(null));
+		assertTrue(DICT.containsPrefix("aujour"));
+		assertFalse(DICT.containsPrefix("cotes"));
+	}
+
+	@Test
+	void getWords_General() {
+		assertArrayEquals(WORDS, DICT.getWords("").toArray());
+		assertArrayEquals(new String[] { "bu", "bus", "but" }, DICT.getWords("bu").toArray());
+		assertArrayEquals(new String[] { "aux", "bus", "but", "ete" }, DICT.getWordsOfLength(3).toArray());
+	}
+
+	@Test
+	void suffixesAreShared() {
+		LexicographicDawg dict = new LexicographicDawg(Arrays.asList("chantons", "dansons", "mangeons"));
+		LexicographicTree tree = new LexicographicTree();
+		tree.insertWord("chantons");
+		tree.insertWord("dansons");
+		tree.insertWord("mangeons");
+		assertTrue(dict.nodeCount() < tree.freeze().nodeCount());
+	}
+
+	@Test
+	void constructor_SameWordsAsTree() {
+		LexicographicTree tree = new LexicographicTree(DICTIONNAIRE);
+		LexicographicDawg dict = new LexicographicDawg(DICTIONNAIRE);
+		assertEquals(tree.size(), dict.size());
+		assertEquals(tree.getWords(""), dict.getWords(""));
+		assertEquals(tree.getWords("mange"), dict.getWords("mange"));
+		assertEquals(tree.getWordsOfLength(7), dict.getWordsOfLength(7));
+		assertTrue(dict.nodeCount() < tree.freeze().nodeCount() / 4);
+	}
+}
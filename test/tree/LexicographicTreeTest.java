@@ -5,7 +5,20 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
 import java.util.Scanner;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -62,6 +75,498 @@ public class LexicographicTreeTest {
 		assertEquals(0, dict.size());
 	}
 
+	@Test
+	void bulkLoad_SameTreeAsSequentialBuild() {
+		LexicographicTree dict = LexicographicTree.bulkLoad(DICTIONNAIRE);
+		LexicographicTree expected = new LexicographicTree(DICTIONNAIRE);
+		assertEquals(327956, dict.size());
+		CompiledLexicographicTree compiled = dict.freeze();
+		CompiledLexicographicTree expectedCompiled = expected.freeze();
+		assertArrayEquals(expectedCompiled.labels, compiled.labels);
+		assertArrayEquals(expectedCompiled.firstChild, compiled.firstChild);
+		assertArrayEquals(expectedCompiled.sibling, compiled.sibling);
+		assertArrayEquals(expectedCompiled.endOfWord, compiled.endOfWord);
+		assertEquals(expected.getWordsOfLength(12), dict.getWordsOfLength(12));
+		assertEquals(expected.rank("maison"), dict.rank("maison"));
+	}
+
+	@Test
+	void bulkLoad_BadFile() {
+		assertEquals(0, LexicographicTree.bulkLoad("mots/pasUnFichier.txt").size());
+	}
+
+	@Test
+	void sortedBuilder_SameTreeAsInsertWord() {
+		LexicographicTree.SortedBuilder builder = new LexicographicTree.SortedBuilder(true);
+		for (String word : WORDS) {
+			builder.add(word);
+			builder.add(word);
+		}
+		LexicographicTree dict = builder.build();
+		assertEquals(WORDS.length, dict.size());
+		assertArrayEquals(WORDS, dict.getWords("").toArray());
+		assertEquals(DICT.getWordsOfLength(3), dict.getWordsOfLength(3));
+		CompiledLexicographicTree expected = DICT.freeze();
+		CompiledLexicographicTree actual = dict.freeze();
+		assertArrayEquals(expected.labels, actual.labels);
+		assertArrayEquals(expected.firstChild, actual.firstChild);
+		assertArrayEquals(expected.sibling, actual.sibling);
+		assertArrayEquals(expected.endOfWord, actual.endOfWord);
+		assertThrows(IllegalStateException.class, () -> builder.add("zzz"));
+	}
+
+	@Test
+	void sortedBuilder_UnsortedInput() {
+		LexicographicTree.SortedBuilder builder = new LexicographicTree.SortedBuilder();
+		for (int i = WORDS.length - 1; i >= 0; i -= 2) {
+			builder.add(WORDS[i]);
+		}
+		for (int i = 0; i < WORDS.length; i++) {
+			builder.add(WORDS[i]);
+		}
+		LexicographicTree dict = builder.build();
+		assertEquals(WORDS.length, dict.size());
+		assertArrayEquals(WORDS, dict.getWords("").toArray());
+		assertEquals(DICT.countWordsWithPrefix("a"), dict.countWordsWithPrefix("a"));
+
+		LexicographicTree.SortedBuilder strict = new LexicographicTree.SortedBuilder(true);
+		strict.add("bus");
+		assertThrows(IllegalArgumentException.class, () -> strict.add("bu"));
+	}
+
+	@Test
+	void getWordsWithinDistance_General() {
+		assertArrayEquals(new String[] { "bu", "bus", "but" }, DICT.getWordsWithinDistance("bus", 1).toArray());
+		assertArrayEquals(new String[] { "as", "bu", "bus" }, DICT.getWordsWithinDistance("bs", 1).toArray());
+		assertArrayEquals(new String[] { "cote" }, DICT.getWordsWithinDistance("cote", 0).toArray());
+		assertArrayEquals(new String[] { "a-cote", "cote" }, DICT.getWordsWithinDistance("acote", 1).toArray());
+		assertTrue(DICT.getWordsWithinDistance("xyz", 1).isEmpty());
+		assertTrue(DICT.getWordsWithinDistance("bus", -1).isEmpty());
+		assertTrue(DICT.getWordsWithinDistance(null, 1).isEmpty());
+		assertEquals(DICT.getWords(""), DICT.getWordsWithinDistance("", 11));
+	}
+
+	@Test
+	void getWordsWithinDistance_SameAsFullScan() {
+		LexicographicTree dict = new LexicographicTree(DICTIONNAIRE);
+		List<String> words = dict.getWords("");
+		for (String query : new String[] { "maisn", "ordinateur", "xylophnoe", "a" }) {
+			for (int k = 1; k <= 2; k++) {
+				int maxDistance = k;
+				List<String> expected = words.stream()
+						.filter(word -> levenshtein(query, word) <= maxDistance)
+						.collect(Collectors.toList());
+				assertEquals(expected, dict.getWordsWithinDistance(query, k), query + " / " + k);
+			}
+		}
+	}
+
+	@Test
+	void getClosestWords_General() {
+		assertArrayEquals(new String[] { "bus", "bu", "but" }, DICT.getClosestWords("bus", 2, 3).toArray());
+		assertArrayEquals(new String[] { "ete", "et" }, DICT.getClosestWords("etee", 2, 2).toArray());
+		assertArrayEquals(new String[] { "as", "au" }, DICT.getClosestWords("ax", 1, 2).toArray());
+		assertTrue(DICT.getClosestWords("bus", 2, 0).isEmpty());
+		List<String> all = DICT.getClosestWords("bs", 1, 100);
+		assertEquals(3, all.size());
+		assertEquals("as", all.get(0));
+	}
+
+	@Test
+	void insertWord_WideNodes() {
+		LexicographicTree dict = new LexicographicTree();
+		LexicographicTree.SortedBuilder builder = new LexicographicTree.SortedBuilder();
+		String letters = "'-zyxwvutsrqponmlkjihgfedcba";
+		for (int i = 0; i < letters.length(); i++) {
+			dict.insertWord("b" + letters.charAt(i));
+			dict.insertWord(String.valueOf(letters.charAt(i)));
+		}
+		for (int i = letters.length() - 1; i >= 0; i--) {
+			builder.add("b" + letters.charAt(i));
+		}
+		builder.add("a");
+		LexicographicTree built = builder.build();
+		assertTrue(dict.root() instanceof LexicographicTree.WideNode);
+		assertTrue(dict.step(dict.root(), 'b') instanceof LexicographicTree.WideNode);
+		assertTrue(built.step(built.root(), 'b') instanceof LexicographicTree.WideNode);
+		for (int i = 0; i < letters.length(); i++) {
+			String word = "b" + letters.charAt(i);
+			assertTrue(dict.containsWord(word), word);
+			assertTrue(built.containsWord(word), word);
+			assertTrue(dict.containsWord(word.substring(1)), word);
+		}
+		assertFalse(dict.containsWord("b!"));
+		assertEquals(2 * letters.length(), dict.size());
+		assertEquals(dict.getWords("b").subList(1, letters.length() + 1), built.getWords("b"));
+		assertEquals(letters.length() + 1, built.size());
+	}
+
+	@Test
+	void removeWord_General() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		assertTrue(dict.removeWord("bus"));
+		assertFalse(dict.removeWord("bus"));
+		assertFalse(dict.removeWord("b"));
+		assertFalse(dict.removeWord("xyz"));
+		assertFalse(dict.removeWord(""));
+		assertFalse(dict.removeWord(null));
+		assertEquals(WORDS.length - 1, dict.size());
+		assertFalse(dict.containsWord("bus"));
+		assertTrue(dict.containsWord("bu"));
+		assertTrue(dict.containsWord("but"));
+
+		assertTrue(dict.removeWord("bu"));
+		assertTrue(dict.containsPrefix("bu"));
+		assertTrue(dict.removeWord("but"));
+		assertFalse(dict.containsPrefix("b"));
+		assertEquals(4, dict.freeNodeCount());
+		assertArrayEquals(new String[] { "a-cote", "aide", "as", "au", "aujourd'hui", "aux", "cote", "et", "ete" },
+				dict.getWords("").toArray());
+		assertArrayEquals(new String[] { "aux", "ete" }, dict.getWordsOfLength(3).toArray());
+		assertTrue(dict.getWordsOfLength(11).size() == 1 && dict.removeWord("aujourd'hui"));
+		assertTrue(dict.getWordsOfLength(11).isEmpty());
+		assertEquals(5, dict.countWordsWithPrefix("a"));
+
+		// Freed nodes are reused
+		int freeNodes = dict.freeNodeCount();
+		dict.insertWord("bus");
+		assertEquals(freeNodes - 3, dict.freeNodeCount());
+		assertTrue(dict.containsWord("bus"));
+	}
+
+	@Test
+	void removePrefix_General() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		assertEquals(3, dict.removePrefix("au"));
+		assertEquals(0, dict.removePrefix("au"));
+		assertEquals(0, dict.removePrefix("x"));
+		assertArrayEquals(new String[] { "a-cote", "aide", "as", "bu", "bus", "but", "cote", "et", "ete" },
+				dict.getWords("").toArray());
+		assertEquals(2, dict.removePrefix("et"));
+		assertFalse(dict.containsPrefix("e"));
+		assertEquals(7, dict.removePrefix(""));
+		assertEquals(0, dict.size());
+		assertTrue(dict.getWords("").isEmpty());
+		dict.insertWord("as");
+		assertArrayEquals(new String[] { "as" }, dict.getWords("").toArray());
+	}
+
+	@Test
+	void removeWord_SameTreeAsFreshBuild() {
+		LexicographicTree dict = new LexicographicTree(DICTIONNAIRE);
+		List<String> words = dict.getWords("");
+		Random random = new Random(1);
+		List<String> kept = new ArrayList<>();
+		for (String word : words) {
+			if (random.nextInt(3) == 0) {
+				assertTrue(dict.removeWord(word), word);
+			} else {
+				kept.add(word);
+			}
+		}
+		dict.removePrefix("tr");
+		kept.removeIf(word -> word.startsWith("tr"));
+		LexicographicTree.SortedBuilder builder = new LexicographicTree.SortedBuilder();
+		kept.forEach(builder::add);
+		LexicographicTree expected = builder.build();
+
+		assertEquals(kept.size(), dict.size());
+		assertEquals(kept, dict.getWords(""));
+		assertEquals(expected.getWordsOfLength(9), dict.getWordsOfLength(9));
+		assertEquals(expected.freeze().nodeCount(), dict.freeze().nodeCount());
+		for (String word : words) {
+			assertEquals(expected.containsWord(word), dict.containsWord(word), word);
+		}
+		assertTrue(dict.freeNodeCount() <= LexicographicTree.MAX_FREE_NODES);
+	}
+
+	@Test
+	void negativeFilter_General() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		dict.enableNegativeFilter(0.01);
+		for (String word : WORDS) {
+			assertTrue(dict.containsWord(word), word);
+			assertTrue(dict.containsWord(word.toCharArray(), 0, word.length()), word);
+			assertFalse(dict.containsWord(word + "xx"), word);
+		}
+		BloomFilter.Statistics statistics = dict.negativeFilterStatistics();
+		assertEquals(2 * WORDS.length, statistics.passed() - statistics.falsePositives());
+		assertEquals(WORDS.length, statistics.rejected() + statistics.falsePositives());
+
+		// The filter follows insertions and removals
+		dict.insertWord("zoo");
+		assertTrue(dict.containsWord("zoo"));
+		dict.removeWord("zoo");
+		assertFalse(dict.containsWord("zoo"));
+		for (int i = 0; i < 3000; i++) {
+			dict.insertWord("w" + i);
+		}
+		for (int i = 0; i < 3000; i++) {
+			assertTrue(dict.containsWord("w" + i));
+		}
+
+		dict.disableNegativeFilter();
+		assertTrue(dict.containsWord("bus"));
+		assertThrows(IllegalArgumentException.class, () -> dict.enableNegativeFilter(1.5));
+	}
+
+	@Test
+	void negativeFilter_ConcurrentLookups() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		dict.enableNegativeFilter(0.01);
+		IntStream.range(0, 10000).parallel().forEach(i -> {
+			String word = WORDS[i % WORDS.length];
+			dict.containsWord(i % 2 == 0 ? word : word + "xx");
+		});
+		BloomFilter.Statistics statistics = dict.negativeFilterStatistics();
+		assertEquals(5000, statistics.passed() - statistics.falsePositives());
+		assertEquals(5000, statistics.rejected() + statistics.falsePositives());
+	}
+
+	@Test
+	void lookupBatch_General() {
+		List<String> words = Arrays.asList("bus", "xyz", "a-cote", "bu", null, "", "b", "but", "bus", "aujourd'hui",
+				"aujourd", "ete", "etes");
+		BitSet found = DICT.lookupBatch(words);
+		for (int i = 0; i < words.size(); i++) {
+			assertEquals(words.get(i) != null && DICT.containsWord(words.get(i)), found.get(i), words.get(i));
+		}
+		assertEquals(7, found.cardinality());
+		assertTrue(DICT.lookupBatch(new ArrayList<String>()).isEmpty());
+
+		assertTrue(DICT.containsAll(Arrays.asList(WORDS)));
+		assertTrue(DICT.containsAll(new HashSet<>(Arrays.asList("bus", "et"))));
+		assertFalse(DICT.containsAll(Arrays.asList("bus", "etes")));
+		assertTrue(DICT.containsAll(new ArrayList<String>()));
+	}
+
+	@Test
+	void lookupBatch_SameAsContainsWord() {
+		LexicographicTree dict = new LexicographicTree(DICTIONNAIRE);
+		Random random = new Random(3);
+		List<CharSequence> words = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			String word = dict.randomWord(random);
+			switch (random.nextInt(3)) {
+			case 0:
+				words.add(word);
+				break;
+			case 1:
+				words.add(new StringBuilder(word).append((char) ('a' + random.nextInt(26))));
+				break;
+			default:
+				words.add(CharBuffer.wrap(word.substring(0, 1 + random.nextInt(word.length()))));
+			}
+		}
+		BitSet found = dict.lookupBatch(words);
+		for (int i = 0; i < words.size(); i++) {
+			assertEquals(dict.containsWord(words.get(i)), found.get(i), words.get(i).toString());
+		}
+	}
+
+	@Test
+	void topK_General() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		assertEquals(List.of("a-cote", "aide"), dict.topK("a", 2));
+		assertTrue(dict.setWeight("au", 10));
+		assertTrue(dict.setWeight("aux", 30));
+		assertTrue(dict.setWeight("as", 5));
+		assertTrue(dict.setWeight("bus", 20));
+		assertTrue(dict.setWeight("but", 20));
+		assertTrue(dict.setWeight("ete", 7));
+		assertFalse(dict.setWeight("aujourd", 1));
+		assertFalse(dict.setWeight("xyz", 1));
+		assertThrows(IllegalArgumentException.class, () -> dict.setWeight("au", -1));
+		assertEquals(30, dict.getWeight("aux"));
+		assertEquals(0, dict.getWeight("bu"));
+		assertEquals(0, dict.getWeight("xyz"));
+		assertEquals(List.of("aux", "au", "as"), dict.topK("a", 3));
+		assertEquals(List.of("aux", "bus", "but", "au"), dict.topK("", 4));
+		assertEquals(List.of("bus", "but", "bu"), dict.topK("b", 5));
+		assertEquals(List.of("ete", "et"), dict.topK("et", 5));
+		assertTrue(dict.topK("zz", 3).isEmpty());
+		assertTrue(dict.topK("a", 0).isEmpty());
+
+		dict.setWeight("aux", 1);
+		assertEquals(List.of("bus", "but", "au"), dict.topK(null, 3));
+		dict.insertWord("avion", 15);
+		assertEquals(List.of("avion", "au"), dict.topK("a", 2));
+		assertThrows(IllegalArgumentException.class, () -> dict.insertWord("avions", -1));
+		assertFalse(dict.containsWord("avions"));
+	}
+
+	@Test
+	void topK_AfterRemoval() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		dict.setWeight("au", 10);
+		dict.setWeight("aux", 30);
+		dict.removeWord("aux");
+		assertEquals(List.of("au"), dict.topK("a", 1));
+		dict.insertWord("aux");
+		assertEquals(0, dict.getWeight("aux"));
+		assertEquals(List.of("au", "aujourd'hui", "aux"), dict.topK("au", 3));
+		dict.removeWord("au");
+		assertEquals(List.of("a-cote"), dict.topK("", 1));
+		dict.removePrefix("");
+		assertTrue(dict.topK("", 1).isEmpty());
+	}
+
+	@Test
+	void topK_SameAsSortedWords() {
+		LexicographicTree dict = new LexicographicTree(DICTIONNAIRE);
+		int count = dict.loadWeightsFromCorpus("txt/Plus fort que Sherlock Holmes.txt");
+		assertTrue(count > 1000);
+		assertTrue(dict.getWeight("premiere") > 0); // "PREMIÈRE" in the text
+		assertTrue(dict.getWeight("de") > dict.getWeight("premiere"));
+		assertEquals(0, dict.getWeight("sherlock")); // proper nouns are not in the dictionary
+		for (String prefix : new String[] { "", "e", "de", "pro", "sherl", "zz" }) {
+			List<String> expected = dict.getWords(prefix);
+			expected.sort((a, b) -> dict.getWeight(a) != dict.getWeight(b)
+					? Integer.compare(dict.getWeight(b), dict.getWeight(a))
+					: a.compareTo(b));
+			for (int k : new int[] { 1, 10, 100 }) {
+				assertEquals(expected.subList(0, Math.min(k, expected.size())), dict.topK(prefix, k), prefix);
+			}
+		}
+	}
+
+	@Test
+	void loadWeights_General() throws IOException {
+		Path file = Files.createTempFile("frequencies", ".txt");
+		try {
+			Files.write(file, List.of("mot;frequence", "bus;12", "but 8", "aux\t3", "xyz;100", "au;", "et;-2"));
+			LexicographicTree dict = new LexicographicTree();
+			for (String word : WORDS) {
+				dict.insertWord(word);
+			}
+			assertEquals(3, dict.loadWeights(file.toString()));
+			assertEquals(List.of("bus", "but", "aux", "a-cote"), dict.topK("", 4));
+			assertEquals(0, new LexicographicTree().loadWeights("mots/absent.txt"));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void wordsFromLetters_General() {
+		assertEquals(List.of("bu", "bus", "but", "et"), DICT.wordsFromLetters("tuseb", 1).collect(Collectors.toList()));
+		assertEquals(List.of("bus", "but"), DICT.wordsFromLetters("TUSEB", 3).collect(Collectors.toList()));
+		assertEquals(List.of("au", "bu", "bus", "but"), DICT.wordsFromLetters("bu?", 0).collect(Collectors.toList()));
+		assertEquals(List.of("ete"), DICT.wordsFromLetters("e t e", 3).collect(Collectors.toList()));
+		assertEquals(List.of("but"), DICT.anagrams("tub").collect(Collectors.toList()));
+		assertEquals(List.of("aux"), DICT.anagrams("??X").collect(Collectors.toList()));
+		assertEquals(0, DICT.wordsFromLetters("", 1).count());
+		assertEquals(0, DICT.wordsFromLetters(null, 1).count());
+		assertEquals(0, DICT.wordsFromLetters("bus", 4).count());
+		assertThrows(IllegalArgumentException.class, () -> DICT.wordsFromLetters("b-s", 1));
+	}
+
+	@Test
+	void wordsFromLetters_SameAsFilter() {
+		LexicographicTree dict = new LexicographicTree(DICTIONNAIRE);
+		List<String> words = dict.getWords("");
+		Random random = new Random(11);
+		for (int i = 0; i < 20; i++) {
+			StringBuilder rack = new StringBuilder(dict.randomWord(random));
+			if (rack.length() > 9) {
+				rack.setLength(9);
+			}
+			if (i % 4 == 0) {
+				rack.setCharAt(random.nextInt(rack.length()), '?');
+			}
+			String letters = rack.toString().replaceAll("[^a-z?]", "?");
+			int minLength = 1 + random.nextInt(4);
+			List<String> expected = words.stream()
+					.filter(word -> word.length() >= minLength && formable(word, letters))
+					.collect(Collectors.toList());
+			assertEquals(expected, dict.wordsFromLetters(letters, minLength).collect(Collectors.toList()), letters);
+		}
+	}
+
+	@Test
+	void getWordsWithSuffix_General() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		assertEquals(List.of("a-cote", "cote", "ete"), dict.getWordsWithSuffix("te"));
+		dict.enableSuffixIndex();
+		assertEquals(List.of("a-cote", "cote", "ete"), dict.getWordsWithSuffix("te"));
+		assertEquals(List.of("as", "bus"), dict.getWordsWithSuffix("s"));
+		assertEquals(List.of("au", "bu"), dict.getWordsWithSuffix("u"));
+		assertEquals(List.of("aujourd'hui"), dict.getWordsWithSuffix("'hui"));
+		assertTrue(dict.getWordsWithSuffix("z").isEmpty());
+		assertEquals(WORDS.length, dict.getWordsWithSuffix("").size());
+
+		dict.insertWord("tete");
+		dict.removeWord("cote");
+		assertEquals(List.of("a-cote", "ete", "tete"), dict.getWordsWithSuffix("te"));
+		dict.removePrefix("a");
+		assertEquals(List.of("ete", "tete"), dict.getWordsWithSuffix("te"));
+		assertEquals(List.of("bus"), dict.getWordsWithSuffix("s"));
+		dict.removePrefix("");
+		assertTrue(dict.getWordsWithSuffix("te").isEmpty());
+		dict.insertWord("vite");
+		assertEquals(List.of("vite"), dict.getWordsWithSuffix("te"));
+		dict.disableSuffixIndex();
+		assertEquals(List.of("vite"), dict.getWordsWithSuffix("te"));
+	}
+
+	@Test
+	void getWordsMatching_General() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		for (int i = 0; i < 2; i++) {
+			assertEquals(List.of("a-cote", "aide"), dict.getWordsMatching("a", "e"));
+			assertEquals(List.of("bus"), dict.getWordsMatching("b", "s"));
+			assertEquals(List.of("aux"), dict.getWordsMatching("au", "x"));
+			assertEquals(List.of("au"), dict.getWordsMatching("a", "u"));
+			assertTrue(dict.getWordsMatching("bu", "us").isEmpty());
+			assertEquals(List.of("ete"), dict.getWordsMatching("e", "te"));
+			assertEquals(List.of("a-cote", "cote", "ete"), dict.getWordsMatching("", "te"));
+			assertEquals(List.of("bu", "bus", "but"), dict.getWordsMatching("b", null));
+			dict.enableSuffixIndex();
+		}
+	}
+
+	@Test
+	void getWordsWithSuffix_SameAsFilter() {
+		LexicographicTree dict = new LexicographicTree(DICTIONNAIRE);
+		dict.enableSuffixIndex();
+		List<String> words = dict.getWords("");
+		for (String suffix : new String[] { "tion", "ment", "x", "eux", "'hui", "zzz" }) {
+			List<String> expected = words.stream().filter(word -> word.endsWith(suffix)).collect(Collectors.toList());
+			assertEquals(expected, dict.getWordsWithSuffix(suffix), suffix);
+		}
+		for (String[] pattern : new String[][] { { "re", "ment" }, { "a", "tion" }, { "anti", "s" }, { "", "" } }) {
+			List<String> expected = words.stream()
+					.filter(word -> word.length() >= pattern[0].length() + pattern[1].length()
+							&& word.startsWith(pattern[0]) && word.endsWith(pattern[1]))
+					.collect(Collectors.toList());
+			assertEquals(expected, dict.getWordsMatching(pattern[0], pattern[1]), pattern[0] + "*" + pattern[1]);
+		}
+	}
+
 	@Test
 	void insertWord_General() {
 		LexicographicTree dict = new LexicographicTree();
@@ -135,6 +640,24 @@ public class LexicographicTreeTest {
 		assertFalse(dict.containsWord("asas"));
 	}
 
+	@Test
+	void containsWord_CharSequenceAndSlice() {
+		StringBuilder sb = new StringBuilder("aujourd'hui");
+		assertTrue(DICT.containsWord(sb));
+		assertTrue(DICT.containsPrefix(sb.delete(4, sb.length())));
+		assertFalse(DICT.containsWord(sb));
+
+		char[] buffer = "xxbusxx".toCharArray();
+		assertTrue(DICT.containsWord(buffer, 2, 3));
+		assertTrue(DICT.containsWord(buffer, 2, 2));
+		assertFalse(DICT.containsWord(buffer, 1, 4));
+		assertFalse(DICT.containsWord(buffer, 2, 0));
+		assertTrue(DICT.containsPrefix(buffer, 2, 1));
+		assertFalse(DICT.containsPrefix(buffer, 0, 2));
+		assertFalse(DICT.containsWord(null, 0, 0));
+		assertThrows(IndexOutOfBoundsException.class, () -> DICT.containsWord(buffer, 5, 3));
+	}
+
 	@Test
 	void getWords_General() {
 		assertEquals(WORDS.length, DICT.getWords("").size());
@@ -159,6 +682,35 @@ public class LexicographicTreeTest {
 		assertEquals(4, DICT.getWordsOfLength(3).size());
 		assertArrayEquals(new String[] { "aux", "bus", "but", "ete" }, DICT.getWordsOfLength(3).toArray());
 	}
+	@Test
+	void getWordsOfLength_AfterInsert() {
+		LexicographicTree dict = new LexicographicTree();
+		dict.insertWord("bus");
+		dict.insertWord("anticonstitutionnellement-longue-composition");
+		List<String> words = dict.getWordsOfLength(3);
+		assertArrayEquals(new String[] { "bus" }, words.toArray());
+		assertThrows(UnsupportedOperationException.class, () -> words.clear());
+		assertSame(words, dict.getWordsOfLength(3));
+		dict.insertWord("as");
+		dict.insertWord("but");
+		assertArrayEquals(new String[] { "bus", "but" }, dict.getWordsOfLength(3).toArray());
+		assertEquals(1, dict.getWordsOfLength(44).size());
+		assertEquals(0, dict.getWordsOfLength(40).size());
+	}
+
+	@Test
+	void getWordsOfLength_ConcurrentReaders() {
+		LexicographicTree dict = new LexicographicTree("mots/dictionnaire_FR_sans_accents.txt");
+		List<Integer> expected = new ArrayList<>();
+		for (int length = 1; length <= 30; length++) {
+			expected.add(dict.getWordsOfLength(length).size());
+		}
+		dict.clearCache();
+		List<Integer> sizes = IntStream.rangeClosed(1, 30).parallel().boxed()
+				.map(length -> dict.getWordsOfLength(length).size()).collect(Collectors.toList());
+		assertEquals(expected, sizes);
+	}
+
 	@Test
 	void getWordsOfLength_Negative() {
 		assertEquals(0, DICT.getWordsOfLength(-1).size());
@@ -183,6 +735,89 @@ public class LexicographicTreeTest {
 		assertEquals(327956, dict2.size());
 	}
 
+	@Test
+	void countWordsWithPrefix_General() {
+		assertEquals(WORDS.length, DICT.countWordsWithPrefix(""));
+		assertEquals(WORDS.length, DICT.countWordsWithPrefix(null));
+		assertEquals(6, DICT.countWordsWithPrefix("a"));
+		assertEquals(3, DICT.countWordsWithPrefix("au"));
+		assertEquals(3, DICT.countWordsWithPrefix("bu"));
+		assertEquals(0, DICT.countWordsWithPrefix("x"));
+	}
+
+	@Test
+	void rankAndSelect() {
+		for (int i = 0; i < WORDS.length; i++) {
+			assertEquals(i, DICT.rank(WORDS[i]));
+			assertEquals(WORDS[i], DICT.select(i));
+		}
+		assertEquals(0, DICT.rank(""));
+		assertEquals(6, DICT.rank("b"));
+		assertEquals(8, DICT.rank("busy"));
+		assertEquals(WORDS.length, DICT.rank("zzz"));
+		assertThrows(IndexOutOfBoundsException.class, () -> DICT.select(WORDS.length));
+		assertThrows(IndexOutOfBoundsException.class, () -> DICT.select(-1));
+	}
+
+	@Test
+	void randomWord() {
+		Random random = new Random(42);
+		for (int i = 0; i < 100; i++) {
+			assertTrue(DICT.containsWord(DICT.randomWord(random)));
+		}
+		assertNull(new LexicographicTree().randomWord(random));
+	}
+
+	@Test
+	void streamWords_General() {
+		assertArrayEquals(WORDS, DICT.streamWords("").toArray());
+		assertArrayEquals(new String[] { "bu", "bus", "but" }, DICT.streamWords("bu").toArray());
+		assertArrayEquals(new String[] { "a-cote", "aide" }, DICT.streamWords(null).limit(2).toArray());
+		assertEquals(0, DICT.streamWords("x").count());
+		assertArrayEquals(new String[] { "aux", "bus", "but", "ete" }, DICT.streamWordsOfLength(3).toArray());
+		assertEquals(0, DICT.streamWordsOfLength(0).count());
+
+		Iterator<String> iterator = DICT.wordIterator("au");
+		assertEquals("au", iterator.next());
+		assertEquals("aujourd'hui", iterator.next());
+		assertEquals("aux", iterator.next());
+		assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	void streamWords_Parallel() {
+		LexicographicTree dico = new LexicographicTree(DICTIONNAIRE);
+		assertEquals(dico.getWords(""), dico.streamWords("").parallel().collect(Collectors.toList()));
+		assertEquals(dico.getWords("re"), dico.streamWords("re").parallel().collect(Collectors.toList()));
+		for (int n = 1; n <= 28; n++) {
+			assertEquals(dico.getWordsOfLength(n), dico.streamWordsOfLength(n).parallel().collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	void cursor_General() {
+		LexicographicTree.Node handle = DICT.root();
+		assertFalse(DICT.isWord(handle));
+		assertEquals((1 << 0) | (1 << 1) | (1 << 2) | (1 << 4), DICT.childMask(handle));
+
+		handle = DICT.step(handle, 'b');
+		assertFalse(DICT.isWord(handle));
+		handle = DICT.step(handle, 'u');
+		assertTrue(DICT.isWord(handle));
+		assertTrue(DICT.hasChildren(handle));
+		assertEquals((1 << ('s' - 'a')) | (1 << ('t' - 'a')), DICT.childMask(handle));
+		handle = DICT.step(handle, 's');
+		assertTrue(DICT.isWord(handle));
+		assertFalse(DICT.hasChildren(handle));
+		assertEquals(0, DICT.childMask(handle));
+
+		assertNull(DICT.step(handle, 'y'));
+		assertNull(DICT.step(null, 'a'));
+		assertFalse(DICT.isWord(null));
+		assertFalse(DICT.hasChildren(null));
+		assertNotNull(DICT.step(DICT.step(DICT.root(), 'a'), '-'));
+	}
+
 	@Test
 	void testSearchingForWordsOfIncreasingLength() {
 		LexicographicTree dico = new LexicographicTree(DICTIONNAIRE);
@@ -258,4 +893,45 @@ public class LexicographicTreeTest {
 		}
 	}
 
+	private static boolean formable(String word, String letters) {
+		int[] counts = new int[26];
+		int blanks = 0;
+		for (char c : letters.toCharArray()) {
+			if (c == '?') {
+				blanks++;
+			} else {
+				counts[c - 'a']++;
+			}
+		}
+		for (char c : word.toCharArray()) {
+			if (c < 'a' || c > 'z') {
+				return false;
+			}
+			if (counts[c - 'a'] > 0) {
+				counts[c - 'a']--;
+			} else if (blanks > 0) {
+				blanks--;
+			} else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int levenshtein(String a, String b) {
+		int[] row = new int[b.length() + 1];
+		for (int j = 0; j <= b.length(); j++) {
+			row[j] = j;
+		}
+		for (int i = 1; i <= a.length(); i++) {
+			int diagonal = row[0];
+			row[0] = i;
+			for (int j = 1; j <= b.length(); j++) {
+				int above = row[j];
+				row[j] = Math.min(Math.min(row[j] + 1, row[j - 1] + 1), diagonal + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1));
+				diagonal = above;
+			}
+		}
+		return row[b.length()];
+	}
 }
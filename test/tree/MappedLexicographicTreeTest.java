@@ -0,0 +1,78 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.jupiter.api.AfterAll;
+
+public class MappedLexicographicTreeTest {
+	private static final String[] WORDS = new String[] {"a-cote", "aide", "as", "au","aujourd'hui", "aux",
+			"bu", "bus", "but", "cote", "et", "ete" };
+	private static final String DICTIONNAIRE = "mots/dictionnaire_FR_sans_accents.txt";
+	private static final String SNAPSHOT = "mots/test.lext";
+
+	@AfterAll
+	public static void clearTest() {
+		new File(SNAPSHOT).delete();
+	}
+
+	@Test
+	void writeAndOpen_General() throws IOException {
+		LexicographicTree tree = new LexicographicTree();
+		for (String word : WORDS) {
+			tree.insertWord(word);
+		}
+		MappedLexicographicTree.write(tree.freeze(), SNAPSHOT);
+		MappedLexicographicTree dict = MappedLexicographicTree.open(SNAPSHOT);
+
+		assertEquals(WORDS.length, dict.size());
+		assertArrayEquals(WORDS, dict.getWords("").toArray());
+		assertArrayEquals(new String[] { "bu", "bus", "but" }, dict.getWords("bu").toArray());
+		assertArrayEquals(new String[] { "aux", "bus", "but", "ete" }, dict.getWordsOfLength(3).toArray());
+		assertTrue(dict.containsWord("aujourd'hui"));
+		assertFalse(dict.containsWord("aid"));
+		assertTrue(dict.containsPrefix("aid"));
+		assertFalse(dict.containsPrefix(""));
+	}
+
+	@Test
+	void writeAndOpen_EmptyDictionary() throws IOException {
+		MappedLexicographicTree.write(new LexicographicTree().freeze(), SNAPSHOT);
+		MappedLexicographicTree dict = MappedLexicographicTree.open(SNAPSHOT);
+		assertEquals(0, dict.size());
+		assertEquals(0, dict.getWords("").size());
+	}
+
+	@Test
+	void open_CorruptedSnapshot() throws IOException {
+		LexicographicTree tree = new LexicographicTree();
+		tree.insertWord("bus");
+		MappedLexicographicTree.write(tree.freeze(), SNAPSHOT);
+		try (RandomAccessFile file = new RandomAccessFile(SNAPSHOT, "rw")) {
+			file.seek(MappedLexicographicTree.HEADER_SIZE);
+			file.writeChar('x');
+		}
+		assertThrows(IOException.class, () -> MappedLexicographicTree.open(SNAPSHOT));
+		assertDoesNotThrow(() -> MappedLexicographicTree.open(SNAPSHOT, false));
+	}
+
+	@Test
+	void open_BadFile() {
+		assertThrows(IOException.class, () -> MappedLexicographicTree.open("mots/pasUnFichier.lext"));
+		assertThrows(IOException.class, () -> MappedLexicographicTree.open(DICTIONNAIRE));
+	}
+
+	@Test
+	void writeAndOpen_SameWordsAsTree() throws IOException {
+		LexicographicTree tree = new LexicographicTree(DICTIONNAIRE);
+		MappedLexicographicTree.write(tree.freeze(), SNAPSHOT);
+		MappedLexicographicTree dict = MappedLexicographicTree.open(SNAPSHOT);
+		assertEquals(tree.size(), dict.size());
+		assertEquals(tree.getWords(""), dict.getWords(""));
+		assertEquals(tree.getWordsOfLength(9), dict.getWordsOfLength(9));
+	}
+}
@@ -0,0 +1,70 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeAll;
+
+public class OffHeapLexicographicTreeTest {
+	private static final String[] WORDS = new String[] { "a-cote", "aide", "as", "au", "aujourd'hui", "aux", "bu",
+			"bus", "but", "cote", "et", "ete" };
+	private static final String DICTIONNAIRE = "mots/dictionnaire_FR_sans_accents.txt";
+	private static final OffHeapLexicographicTree DICT = new OffHeapLexicographicTree();
+
+	@BeforeAll
+	public static void initTestDictionary() {
+		for (int i = WORDS.length - 1; i >= 0; i--) {
+			DICT.insertWord(WORDS[i]);
+		}
+	}
+
+	@Test
+	void insertWord_General() {
+		OffHeapLexicographicTree dict = new OffHeapLexicographicTree();
+		for (int i = 0; i < WORDS.length; i++) {
+			dict.insertWord(WORDS[i]);
+			assertEquals(i + 1, dict.size(), "Mot " + WORDS[i] + " non inséré");
+			int nodeCount = dict.nodeCount();
+			dict.insertWord(WORDS[i]);
+			assertEquals(i + 1, dict.size(), "Mot " + WORDS[i] + " en double");
+			assertEquals(nodeCount, dict.nodeCount());
+		}
+		dict.insertWord("");
+		dict.insertWord(null);
+		assertEquals(WORDS.length, dict.size());
+	}
+
+	@Test
+	void containsWord_General() {
+		for (String word : WORDS) {
+			assertTrue(DICT.containsWord(word), "Mot " + word + " non trouvé");
+			assertTrue(DICT.containsWord(("_" + word).toCharArray(), 1, word.length()), word);
+		}
+		assertFalse(DICT.containsWord("a"));
+		assertFalse(DICT.containsWord("but-"));
+		assertFalse(DICT.containsWord(""));
+		assertTrue(DICT.containsPrefix("auj"));
+		assertFalse(DICT.containsPrefix("auz"));
+		assertThrows(IndexOutOfBoundsException.class, () -> DICT.containsWord(new char[2], 1, 2));
+	}
+
+	@Test
+	void getWords_General() {
+		assertArrayEquals(WORDS, DICT.getWords("").toArray());
+		assertArrayEquals(new String[] { "bu", "bus", "but" }, DICT.getWords("bu").toArray());
+		assertTrue(DICT.getWords("x").isEmpty());
+		assertArrayEquals(new String[] { "aux", "bus", "but", "ete" }, DICT.getWordsOfLength(3).toArray());
+		assertTrue(DICT.getWordsOfLength(0).isEmpty());
+	}
+
+	@Test
+	void dictionary_SameWordsAsHeapTree() {
+		OffHeapLexicographicTree dict = new OffHeapLexicographicTree(DICTIONNAIRE);
+		LexicographicTree expected = new LexicographicTree(DICTIONNAIRE);
+		assertEquals(expected.size(), dict.size());
+		assertEquals(expected.getWords(""), dict.getWords(""));
+		assertEquals(expected.getWordsOfLength(7), dict.getWordsOfLength(7));
+		assertEquals(expected.freeze().nodeCount(), dict.nodeCount());
+		assertTrue(dict.allocatedBytes() >= (long) dict.nodeCount() * OffHeapLexicographicTree.NODE_SIZE);
+	}
+}
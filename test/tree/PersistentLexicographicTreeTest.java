@@ -0,0 +1,151 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class PersistentLexicographicTreeTest {
+	private static final String[] WORDS = new String[] { "a-cote", "aide", "as", "au", "aujourd'hui", "aux", "bu",
+			"bus", "but", "cote", "et", "ete" };
+	private static final String DICTIONNAIRE = "mots/dictionnaire_FR_sans_accents.txt";
+
+	private static PersistentLexicographicTree smallDictionary() {
+		PersistentLexicographicTree dict = new PersistentLexicographicTree();
+		for (String word : WORDS) {
+			dict = dict.withWord(word);
+		}
+		return dict;
+	}
+
+	@Test
+	void withWord_General() {
+		PersistentLexicographicTree empty = new PersistentLexicographicTree();
+		PersistentLexicographicTree dict = smallDictionary();
+		assertEquals(0, empty.size());
+		assertEquals(0, empty.version());
+		assertEquals(WORDS.length, dict.size());
+		assertEquals(WORDS.length, dict.version());
+		assertEquals(Arrays.asList(WORDS), dict.getWords(""));
+		assertEquals(List.of("au", "aujourd'hui", "aux"), dict.getWords("au"));
+		assertEquals(List.of("as", "au", "bu", "et"), dict.getWordsOfLength(2));
+		assertTrue(dict.containsWord("aujourd'hui"));
+		assertFalse(dict.containsWord("auj"));
+		assertTrue(dict.containsPrefix("auj"));
+		assertTrue(dict.containsWord("xbusx".toCharArray(), 1, 3));
+		assertFalse(dict.containsPrefix("xbusx".toCharArray(), 1, 4));
+
+		// Unchanged versions are returned as is
+		assertSame(dict, dict.withWord("bus"));
+		assertSame(dict, dict.withWord(" "));
+		assertSame(dict, dict.withoutWord("bateau"));
+		assertSame(dict, dict.withoutWord("b"));
+
+		// Single and bulk updates trim the words alike
+		assertEquals(dict.withWords(List.of("tube ")).getWords(""), dict.withWord("tube ").getWords(""));
+		assertTrue(dict.withWord(" tube ").containsWord("tube"));
+		assertSame(dict, dict.withWord("bus "));
+		assertFalse(dict.withoutWord(" bus").containsWord("bus"));
+	}
+
+	@Test
+	void withWord_SharesUnchangedSubtrees() {
+		PersistentLexicographicTree dict = smallDictionary();
+		PersistentLexicographicTree next = dict.withWord("butte");
+		assertTrue(next.containsWord("butte"));
+		assertFalse(dict.containsWord("butte"));
+		assertEquals(dict.size() + 1, next.size());
+		assertEquals(dict.version() + 1, next.version());
+		assertSame(dict.root.children[0], next.root.children[0]); // 'a'
+		assertNotSame(dict.root.children[1], next.root.children[1]); // 'b'
+		assertSame(dict.root.children[2], next.root.children[2]); // 'c'
+		assertSame(dict.root.children[1].children[0].children[0], next.root.children[1].children[0].children[0]); // "bus"
+	}
+
+	@Test
+	void withoutWord_General() {
+		PersistentLexicographicTree dict = smallDictionary();
+		PersistentLexicographicTree next = dict.withoutWord("bu").withoutWord("aujourd'hui").withoutWord("ete");
+		assertEquals(List.of("a-cote", "aide", "as", "au", "aux", "bus", "but", "cote", "et"), next.getWords(""));
+		assertEquals(WORDS.length, dict.size());
+		assertTrue(dict.containsWord("bu"));
+		assertFalse(next.containsPrefix("auj"));
+		assertEquals(List.of("aux", "bus", "but"), next.getWordsOfLength(3));
+		assertSame(dict.root.children[2], next.root.children[2]);
+
+		for (String word : WORDS) {
+			next = next.withoutWord(word);
+		}
+		assertEquals(0, next.size());
+		assertTrue(next.getWords("").isEmpty());
+		assertFalse(next.containsPrefix("a"));
+	}
+
+	@Test
+	void withWords_SameAsWithWord() {
+		PersistentLexicographicTree dict = smallDictionary();
+		List<String> added = List.of("butte", "azur", "au", "cote", "zebre", "b", "", " a ");
+		PersistentLexicographicTree expected = dict;
+		for (String word : added) {
+			expected = expected.withWord(word.trim());
+		}
+		PersistentLexicographicTree next = dict.withWords(added);
+		assertEquals(expected.getWords(""), next.getWords(""));
+		assertEquals(expected.size(), next.size());
+		assertEquals(dict.version() + 1, next.version());
+		assertSame(dict.root.children[2], next.root.children[2]); // 'c' is unchanged
+		assertSame(dict, dict.withWords(List.of("bus", "au")));
+	}
+
+	@Test
+	void replaceAll_General() {
+		PersistentLexicographicTree dict = smallDictionary();
+		assertSame(dict, dict.replaceAll(Arrays.asList(WORDS)));
+
+		List<String> words = new ArrayList<>(Arrays.asList(WORDS));
+		words.remove("bu");
+		words.add("bol");
+		PersistentLexicographicTree next = dict.replaceAll(words);
+		assertEquals(words.stream().sorted().toList(), next.getWords(""));
+		assertSame(dict.root.children[0], next.root.children[0]); // 'a'
+		assertSame(dict.root.children[2], next.root.children[2]); // 'c'
+		assertSame(dict.root.children[3], next.root.children[3]); // 'e'
+		assertEquals(0, dict.replaceAll(List.of()).size());
+	}
+
+	@Test
+	void constructor_DictionaryFromFile() {
+		PersistentLexicographicTree dict = new PersistentLexicographicTree(DICTIONNAIRE);
+		LexicographicTree reference = new LexicographicTree(DICTIONNAIRE);
+		assertEquals(327956, dict.size());
+		assertEquals(reference.getWords(""), dict.getWords(""));
+		assertEquals(reference.getWordsOfLength(7), dict.getWordsOfLength(7));
+		assertEquals(0, new PersistentLexicographicTree("mots/absent.txt").size());
+	}
+
+	@Test
+	void withoutWord_SameAsMutableTree() {
+		PersistentLexicographicTree dict = new PersistentLexicographicTree(DICTIONNAIRE);
+		LexicographicTree reference = new LexicographicTree(DICTIONNAIRE);
+		PersistentLexicographicTree original = dict;
+		List<String> originalWords = original.getWords("");
+		Random random = new Random(17);
+		for (int i = 0; i < 5000; i++) {
+			String word = reference.randomWord(random);
+			if (i % 2 == 0) {
+				dict = dict.withoutWord(word);
+				reference.removeWord(word);
+			} else {
+				dict = dict.withWord(word + "s");
+				reference.insertWord(word + "s");
+			}
+		}
+		assertEquals(reference.size(), dict.size());
+		assertEquals(reference.getWords("a"), dict.getWords("a"));
+		assertEquals(reference.getWordsOfLength(9), dict.getWordsOfLength(9));
+		assertEquals(originalWords, original.getWords(""));
+	}
+}
@@ -0,0 +1,72 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeAll;
+
+public class RepetitionPatternIndexTest {
+	private static final String[] WORDS = new String[] {"a-cote", "aide", "as", "au","aujourd'hui", "aux",
+			"bu", "bus", "but", "cote", "et", "ete", "etat", "tete" };
+	private static final String DICTIONNAIRE = "mots/dictionnaire_FR_sans_accents.txt";
+	private static RepetitionPatternIndex INDEX;
+
+	@BeforeAll
+	public static void initTestDictionary() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		INDEX = new RepetitionPatternIndex(dict);
+	}
+
+	@Test
+	void pattern_General() {
+		assertEquals("ABCB", RepetitionPatternIndex.pattern("ETAT"));
+		assertEquals("ABBA", RepetitionPatternIndex.pattern("anna"));
+		assertEquals("ABC", RepetitionPatternIndex.pattern("bus"));
+		assertEquals("", RepetitionPatternIndex.pattern(""));
+	}
+
+	@Test
+	void getCompatibleWords_General() {
+		assertArrayEquals(new String[] { "ete" }, INDEX.getCompatibleWords("XYX").toArray());
+		assertArrayEquals(new String[] { "aux", "bus", "but" }, INDEX.getCompatibleWords("QRS").toArray());
+		assertArrayEquals(new String[] { "etat" }, INDEX.getCompatibleWords("ABCB").toArray());
+		assertArrayEquals(new String[] { "tete" }, INDEX.getCompatibleWords("ABAB").toArray());
+		assertEquals(0, INDEX.getCompatibleWords("AAAA").size());
+		assertEquals("aux", INDEX.getFirstCompatibleWord("QRS"));
+		assertNull(INDEX.getFirstCompatibleWord("AAAA"));
+	}
+
+	@Test
+	void repetitionPatterns_SharedUntilModified() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		RepetitionPatternIndex index = dict.repetitionPatterns();
+		assertSame(index, dict.repetitionPatterns());
+		dict.insertWord("elle");
+		assertNotSame(index, dict.repetitionPatterns());
+		assertEquals("elle", dict.repetitionPatterns().getFirstCompatibleWord("ABBA"));
+		dict.removeWord("elle");
+		assertNull(dict.repetitionPatterns().getFirstCompatibleWord("ABBA"));
+	}
+
+	@Test
+	void getCompatibleWords_SameAsScan() {
+		LexicographicTree dict = new LexicographicTree(DICTIONNAIRE);
+		RepetitionPatternIndex index = new RepetitionPatternIndex(dict);
+		for (String cipher : new String[] { "UMOYBUM", "FOOMUFYDMOMBD", "PMBZJPDC", "XYXZ" }) {
+			String expected = null;
+			for (String word : dict.getWordsOfLength(cipher.length())) {
+				if (RepetitionPatternIndex.pattern(word).equals(RepetitionPatternIndex.pattern(cipher))) {
+					expected = word;
+					break;
+				}
+			}
+			assertEquals(expected, index.getFirstCompatibleWord(cipher), cipher);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class TreeStatisticsTest {
+	private static final String[] WORDS = new String[] { "a-cote", "aide", "as", "au", "aujourd'hui", "aux", "bu",
+			"bus", "but", "cote", "et", "ete" };
+	private static final String DICTIONNAIRE = "mots/dictionnaire_FR_sans_accents.txt";
+
+	@Test
+	void stats_General() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		TreeStatistics stats = dict.stats();
+		assertEquals(33, stats.getNodeCount());
+		assertEquals(WORDS.length, stats.getWordCount());
+		assertEquals(0, stats.getWideNodeCount());
+		assertEquals(45, stats.getTotalWordLength());
+		assertArrayEquals(new int[] { 1, 4, 7, 8, 4, 2, 2, 1, 1, 1, 1, 1 }, stats.getDepthHistogram());
+		assertArrayEquals(new int[] { 9, 20, 2, 0, 2 }, stats.getFanOutHistogram());
+		assertEquals(1 - 32.0 / 45, stats.getSharedPrefixRatio(), 1e-9);
+		assertEquals(33L * TreeStatistics.NODE_BYTES, stats.getEstimatedBytes());
+		assertEquals(33.0 * TreeStatistics.NODE_BYTES / WORDS.length, stats.getEstimatedBytesPerWord(), 1e-9);
+
+		TreeStatistics empty = new LexicographicTree().stats();
+		assertEquals(1, empty.getNodeCount());
+		assertEquals(0, empty.getWordCount());
+		assertEquals(0.0, empty.getSharedPrefixRatio());
+		assertEquals(0.0, empty.getEstimatedBytesPerWord());
+	}
+
+	@Test
+	void stats_Dictionary() {
+		LexicographicTree dict = new LexicographicTree(DICTIONNAIRE);
+		TreeStatistics stats = dict.stats();
+		assertEquals(dict.size(), stats.getWordCount());
+		assertEquals(dict.freeze().nodeCount(), stats.getNodeCount());
+		int[] depths = stats.getDepthHistogram();
+		int total = 0;
+		for (int count : depths) {
+			total += count;
+		}
+		assertEquals(stats.getNodeCount(), total);
+		assertTrue(stats.getWideNodeCount() > 0);
+		assertTrue(stats.getSharedPrefixRatio() > 0.5 && stats.getSharedPrefixRatio() < 1);
+	}
+
+	@Test
+	void registerMBean_General() throws JMException {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		ObjectName name = dict.registerMBean("test");
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			assertEquals(WORDS.length, server.getAttribute(name, "WordCount"));
+			assertEquals(dict.stats().getNodeCount(), server.getAttribute(name, "NodeCount"));
+			assertArrayEquals(dict.stats().getFanOutHistogram(), (int[]) server.getAttribute(name, "FanOutHistogram"));
+			assertThrows(JMException.class, () -> dict.registerMBean("test"));
+		} finally {
+			dict.unregisterMBean("test");
+		}
+		assertFalse(server.isRegistered(name));
+		assertThrows(JMException.class, () -> dict.unregisterMBean("test"));
+	}
+}
@@ -0,0 +1,97 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class WordSegmenterTest {
+	private static final String[] WORDS = new String[] { "le", "chat", "chaton", "on", "ton", "mange", "la",
+			"souris", "a", "ab", "bc", "c" };
+	private static final String DICTIONNAIRE = "mots/dictionnaire_FR_sans_accents.txt";
+
+	private static LexicographicTree smallDictionary() {
+		LexicographicTree dict = new LexicographicTree();
+		for (String word : WORDS) {
+			dict.insertWord(word);
+		}
+		return dict;
+	}
+
+	@Test
+	void segment_General() {
+		WordSegmenter segmenter = new WordSegmenter(smallDictionary());
+		assertEquals(List.of("le", "chat", "mange", "la", "souris"), segmenter.segment("lechatmangelasouris"));
+		assertEquals(List.of("le", "chaton", "mange"), segmenter.segment("lechatonmange"));
+		assertEquals(List.of("le", "chat", "mange"), segmenter.segment("LE CHAT\nMange"));
+		assertEquals(List.of("le", "x", "chat", "z"), segmenter.segment("lexchatz"));
+		assertEquals(List.of(), segmenter.segment(""));
+	}
+
+	@Test
+	void segment_Weights() {
+		LexicographicTree dict = smallDictionary();
+		dict.setWeight("a", 10);
+		dict.setWeight("bc", 10);
+		assertEquals(List.of("a", "bc"), new WordSegmenter(dict).segment("abc"));
+		dict.setWeight("ab", 100);
+		dict.setWeight("c", 100);
+		assertEquals(List.of("ab", "c"), new WordSegmenter(dict).segment("abc"));
+
+		// Frequent short words beat a rare longer word
+		dict.setWeight("chat", 1000);
+		dict.setWeight("on", 1000);
+		assertEquals(List.of("chat", "on"), new WordSegmenter(dict).segment("chaton"));
+		dict.setWeight("chaton", 1000);
+		assertEquals(List.of("chaton"), new WordSegmenter(dict).segment("chaton"));
+	}
+
+	@Test
+	void constructor_WindowTooSmall() {
+		LexicographicTree dict = smallDictionary();
+		assertThrows(IllegalArgumentException.class, () -> new WordSegmenter(dict, 23));
+		assertEquals(24, new WordSegmenter(dict, 24).window());
+		assertEquals(WordSegmenter.DEFAULT_WINDOW, new WordSegmenter(dict).window());
+	}
+
+	@Test
+	void constructor_WordsLongerThanLengthMasks() {
+		LexicographicTree dict = smallDictionary();
+		String longWord = "anticonstitutionnellementlongueetcompliquee";
+		dict.insertWord(longWord);
+		dict.insertWord(longWord.substring(0, 35));
+		assertThrows(IllegalArgumentException.class, () -> new WordSegmenter(dict, 4 * longWord.length() - 1));
+		WordSegmenter segmenter = new WordSegmenter(dict, 4 * longWord.length());
+		assertEquals(List.of("le", longWord, "chat"), segmenter.segment("le" + longWord + "chat"));
+	}
+
+	@Test
+	void segment_StreamingSameAsWholeText() throws IOException {
+		LexicographicTree dict = new LexicographicTree(DICTIONNAIRE);
+		dict.loadWeightsFromCorpus("txt/Plus fort que Sherlock Holmes.txt");
+		Random random = new Random(5);
+		StringBuilder text = new StringBuilder();
+		while (text.length() < 100000) {
+			text.append(dict.topK("", 200).get(random.nextInt(200)));
+		}
+		List<String> whole = new WordSegmenter(dict, text.length()).segment(text);
+		List<String> streamed = new ArrayList<>();
+		WordSegmenter segmenter = new WordSegmenter(dict, 200);
+		segmenter.segment(new StringReader(text.toString()), streamed::add);
+		assertEquals(whole, streamed);
+		assertEquals(text.toString(), String.join("", streamed));
+	}
+
+	@Test
+	void segment_Text() {
+		LexicographicTree dict = new LexicographicTree(DICTIONNAIRE);
+		dict.loadWeightsFromCorpus("txt/Plus fort que Sherlock Holmes.txt");
+		WordSegmenter segmenter = new WordSegmenter(dict);
+		assertEquals(List.of("la", "premiere", "scene", "se", "passe", "a", "la", "campagne"),
+				segmenter.segment("lapremierescenesepassealacampagne"));
+	}
+}